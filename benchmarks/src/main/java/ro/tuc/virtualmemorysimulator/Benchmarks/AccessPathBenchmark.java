@@ -0,0 +1,69 @@
+package ro.tuc.virtualmemorysimulator.Benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import ro.tuc.virtualmemorysimulator.BusinessLogic.AlgorithmFactory;
+import ro.tuc.virtualmemorysimulator.BusinessLogic.MemoryManager;
+import ro.tuc.virtualmemorysimulator.BusinessLogic.SimulationConfig;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// Steady-state cost of one translation through MemoryManager (TLB hits, page-table hits and faults mixed).
+// Run with "-prof gc": gc.alloc.rate.norm should read ~0 B/op, i.e. the access path does not allocate.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class AccessPathBenchmark {
+
+    private static final int TRACE_LENGTH = 1 << 16;
+    private static final int ACCESSES_PER_INVOCATION = 1024;
+
+    @Param({"FIFO", "LRU"})
+    public String algorithm;
+
+    @Param({"64", "1024"})
+    public int frames;
+
+    private MemoryManager memoryManager;
+    private long[] addresses;
+    private boolean[] writes;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // 80% of the accesses fall in a 16 MB hot region, the rest anywhere in a 1 GB range
+        SplittableRandom random = new SplittableRandom(42);
+        addresses = new long[TRACE_LENGTH];
+        writes = new boolean[TRACE_LENGTH];
+        for (int i = 0; i < TRACE_LENGTH; i++) {
+            addresses[i] = (random.nextInt(100) < 80)
+                    ? 0x1000_0000L + random.nextInt(16 << 20)
+                    : random.nextInt(1 << 30);
+            writes[i] = random.nextInt(100) < 30;
+        }
+
+        memoryManager = new MemoryManager(AlgorithmFactory.create(algorithm),
+                SimulationConfig.defaultConfig().withNumFrames(frames));
+        memoryManager.startStream();
+        // One pass to allocate the page tables the trace touches and fill the frames
+        for (int i = 0; i < TRACE_LENGTH; i++) {
+            memoryManager.access(addresses[i], writes[i]);
+        }
+        next = 0;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ACCESSES_PER_INVOCATION)
+    public long access() {
+        int i = next;
+        for (int n = 0; n < ACCESSES_PER_INVOCATION; n++) {
+            memoryManager.access(addresses[i], writes[i]);
+            i = (i + 1) & (TRACE_LENGTH - 1);
+        }
+        next = i;
+        return memoryManager.getTotalFaults();
+    }
+}
@@ -0,0 +1,62 @@
+package ro.tuc.virtualmemorysimulator.Benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import ro.tuc.virtualmemorysimulator.Model.PageDirectory;
+import ro.tuc.virtualmemorysimulator.Model.PageTable;
+import ro.tuc.virtualmemorysimulator.Model.PagingStructure;
+import ro.tuc.virtualmemorysimulator.Model.RadixPageTable;
+
+import java.util.concurrent.TimeUnit;
+
+// One page-table walk (PagingStructure.walk) per VPN of the trace, over tables populated up front:
+// the 32-bit two-level directory and 4- and 5-level x86-64 radix tables.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class PageWalkBenchmark {
+
+    private static final int TRACE_LENGTH = 1 << 16;
+    private static final int FOOTPRINT_PAGES = 1 << 16;
+    private static final int OPS_PER_INVOCATION = 1024;
+
+    @Param({"UNIFORM", "ZIPFIAN", "SEQUENTIAL", "LOOPING"})
+    public SyntheticTraces.Kind trace;
+
+    @Param({"2", "4", "5"})
+    public int levels;
+
+    private PagingStructure paging;
+    private long[] vpns;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        vpns = SyntheticTraces.toVpns(SyntheticTraces.generate(trace, TRACE_LENGTH, FOOTPRINT_PAGES, 42));
+        paging = (levels == 2)
+                ? new PageDirectory()
+                : new RadixPageTable(levels);
+        for (int i = 0; i < TRACE_LENGTH; i++) {
+            PageTable table = paging.getOrCreateTableFor(vpns[i]);
+            table.map(paging.getEntryIndex(vpns[i]), i & PageTable.MAX_FRAME_NUMBER);
+        }
+        next = 0;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OPS_PER_INVOCATION)
+    public int walk() {
+        int i = next;
+        int sum = 0;
+        for (int n = 0; n < OPS_PER_INVOCATION; n++) {
+            long vpn = vpns[i];
+            PageTable table = paging.walk(vpn);
+            sum += table.getFrameNumber(paging.getEntryIndex(vpn)) + paging.getLastWalkReferences();
+            i = (i + 1) & (TRACE_LENGTH - 1);
+        }
+        next = i;
+        return sum;
+    }
+}
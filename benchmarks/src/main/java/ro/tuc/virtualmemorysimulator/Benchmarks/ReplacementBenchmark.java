@@ -0,0 +1,108 @@
+package ro.tuc.virtualmemorysimulator.Benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import ro.tuc.virtualmemorysimulator.BusinessLogic.Algorithm;
+import ro.tuc.virtualmemorysimulator.BusinessLogic.AlgorithmFactory;
+import ro.tuc.virtualmemorysimulator.BusinessLogic.LRUAlgorithm;
+import ro.tuc.virtualmemorysimulator.Model.Frame;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// A policy's own bookkeeping replayed over a trace, without the TLB or page tables: a resident page
+// gets onFrameAccessed, any other page the onPageFault / replacePage / onFrameLoaded sequence MemoryManager
+// sends once memory is full. "LRU-scan" is the reference LRUAlgorithm, which scans every frame's
+// last-access stamp. Scores are per reference; LOOPING with 4096 frames fits entirely and only hits.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ReplacementBenchmark {
+
+    private static final int TRACE_LENGTH = 1 << 16;
+    private static final int FOOTPRINT_PAGES = 1 << 14;
+    private static final int OPS_PER_INVOCATION = 1024;
+
+    @Param({"FIFO", "LRU", "LRU-scan", "Optimal", "Clock", "EnhancedClock",
+            "ARC", "2Q", "LIRS", "CFLRU"})
+    public String algorithm;
+
+    @Param({"UNIFORM", "ZIPFIAN", "SEQUENTIAL", "LOOPING"})
+    public SyntheticTraces.Kind trace;
+
+    @Param({"16", "256", "4096"})
+    public int frames;
+
+    private Algorithm policy;
+    private List<Frame> frameList;
+    private long[] vpns;
+    private long baseVpn;
+    private int[] frameOfPage; // -1 when not resident
+    private int loaded;
+    private long clock;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        vpns = SyntheticTraces.toVpns(SyntheticTraces.generate(trace, TRACE_LENGTH, FOOTPRINT_PAGES, 42));
+        baseVpn = SyntheticTraces.BASE_ADDRESS / SyntheticTraces.PAGE_SIZE;
+        frameOfPage = new int[FOOTPRINT_PAGES];
+        Arrays.fill(frameOfPage, -1);
+        policy = algorithm.equals("LRU-scan") ? new LRUAlgorithm() : AlgorithmFactory.create(algorithm);
+        policy.onTraceLoaded(vpns);
+        policy.reset(frames);
+
+        frameList = new ArrayList<>(frames);
+        for (int f = 0; f < frames; f++) {
+            frameList.add(new Frame(f));
+        }
+        loaded = 0;
+        // One warm pass fills memory
+        for (int i = 0; i < TRACE_LENGTH; i++) {
+            reference(i);
+        }
+        next = 0;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OPS_PER_INVOCATION)
+    public int reference() {
+        int i = next;
+        int sum = 0;
+        for (int n = 0; n < OPS_PER_INVOCATION; n++) {
+            sum += reference(i);
+            i = (i + 1) & (TRACE_LENGTH - 1);
+        }
+        next = i;
+        return sum;
+    }
+
+    private int reference(int i) {
+        int page = (int) (vpns[i] - baseVpn);
+        int frameIndex = frameOfPage[page];
+        if (frameIndex >= 0) {
+            frameList.get(frameIndex).setLastAccess(++clock);
+            policy.onFrameAccessed(frameIndex, i);
+            return frameIndex;
+        }
+
+        policy.onPageFault(vpns[i], i);
+        boolean replaced = loaded == frames;
+        if (replaced) {
+            frameIndex = policy.replacePage(frameList, vpns, i);
+            frameOfPage[(int) (frameList.get(frameIndex).getVpn() - baseVpn)] = -1;
+        } else {
+            frameIndex = loaded++;
+        }
+        Frame frame = frameList.get(frameIndex);
+        frame.setVpn(vpns[i]);
+        frame.setLastAccess(++clock);
+        frameOfPage[page] = frameIndex;
+        policy.onFrameLoaded(frameIndex, replaced, i);
+        return frameIndex;
+    }
+}
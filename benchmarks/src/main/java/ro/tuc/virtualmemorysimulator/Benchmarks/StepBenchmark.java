@@ -0,0 +1,62 @@
+package ro.tuc.virtualmemorysimulator.Benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import ro.tuc.virtualmemorysimulator.BusinessLogic.AlgorithmFactory;
+import ro.tuc.virtualmemorysimulator.BusinessLogic.MemoryManager;
+import ro.tuc.virtualmemorysimulator.BusinessLogic.SimulationConfig;
+
+import java.util.concurrent.TimeUnit;
+
+// End-to-end MemoryManager.step throughput: TLB lookup, page walk, fault handling and replacement
+// over a stored trace, replayed cyclically after one warm pass.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class StepBenchmark {
+
+    private static final int TRACE_LENGTH = 1 << 16;
+    private static final int FOOTPRINT_PAGES = 1 << 14;
+    private static final int STEPS_PER_INVOCATION = 1024;
+
+    @Param({"FIFO", "LRU", "Optimal", "Clock", "EnhancedClock",
+            "ARC", "2Q", "LIRS", "CFLRU"})
+    public String algorithm;
+
+    @Param({"UNIFORM", "ZIPFIAN", "SEQUENTIAL", "LOOPING"})
+    public SyntheticTraces.Kind trace;
+
+    @Param({"16", "256", "4096"})
+    public int frames;
+
+    private MemoryManager memoryManager;
+    private boolean[] writes;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        long[] addresses = SyntheticTraces.generate(trace, TRACE_LENGTH, FOOTPRINT_PAGES, 42);
+        writes = SyntheticTraces.writes(TRACE_LENGTH, 42);
+        memoryManager = new MemoryManager(AlgorithmFactory.create(algorithm),
+                SimulationConfig.defaultConfig().withNumFrames(frames));
+        memoryManager.setAddressTrace(addresses);
+        for (int i = 0; i < TRACE_LENGTH; i++) {
+            memoryManager.step(i, writes[i]);
+        }
+        next = 0;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(STEPS_PER_INVOCATION)
+    public long step() {
+        int i = next;
+        for (int n = 0; n < STEPS_PER_INVOCATION; n++) {
+            memoryManager.step(i, writes[i]);
+            i = (i + 1) & (TRACE_LENGTH - 1);
+        }
+        next = i;
+        return memoryManager.getTotalFaults();
+    }
+}
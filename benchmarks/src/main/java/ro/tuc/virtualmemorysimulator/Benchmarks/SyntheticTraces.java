@@ -0,0 +1,89 @@
+package ro.tuc.virtualmemorysimulator.Benchmarks;
+
+import java.util.SplittableRandom;
+
+// Deterministic address traces with the access patterns the benchmarks are parameterised over.
+// Addresses are 32-bit: page number * 4 KB plus a random offset, starting at BASE_ADDRESS.
+public final class SyntheticTraces {
+
+    public static final int PAGE_SIZE = 4096;
+    public static final long BASE_ADDRESS = 0x1000_0000L;
+
+    public enum Kind {
+        UNIFORM,    // every page equally likely
+        ZIPFIAN,    // page rank r drawn with probability ~ 1 / r (a few hot pages, a long tail)
+        SEQUENTIAL, // one page after the other, wrapping around the footprint
+        LOOPING     // repeated scans of a quarter of the footprint; LRU's worst case once the loop exceeds memory
+    }
+
+    private static final double ZIPF_EXPONENT = 1.0;
+
+    private SyntheticTraces() {
+    }
+
+    public static long[] generate(Kind kind, int length, int pages, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        long[] addresses = new long[length];
+        double[] zipfCdf = (kind == Kind.ZIPFIAN) ? zipfCdf(pages) : null;
+        for (int i = 0; i < length; i++) {
+            int page = switch (kind) {
+                case UNIFORM -> random.nextInt(pages);
+                case ZIPFIAN -> zipfPage(zipfCdf, random.nextDouble());
+                case SEQUENTIAL -> i % pages;
+                case LOOPING -> i % loopLength(pages);
+            };
+            addresses[i] = BASE_ADDRESS + (long) page * PAGE_SIZE + random.nextInt(PAGE_SIZE);
+        }
+        return addresses;
+    }
+
+    // About 30% writes, independent of the addresses
+    public static boolean[] writes(int length, long seed) {
+        SplittableRandom random = new SplittableRandom(seed ^ 0x5DEECE66DL);
+        boolean[] writes = new boolean[length];
+        for (int i = 0; i < length; i++) {
+            writes[i] = random.nextInt(10) < 3;
+        }
+        return writes;
+    }
+
+    // VPNs of a trace for the 4 KB page size used here
+    public static long[] toVpns(long[] addresses) {
+        long[] vpns = new long[addresses.length];
+        for (int i = 0; i < addresses.length; i++) {
+            vpns[i] = addresses[i] / PAGE_SIZE;
+        }
+        return vpns;
+    }
+
+    private static int loopLength(int pages) {
+        return Math.max(1, pages / 4);
+    }
+
+    private static double[] zipfCdf(int pages) {
+        double[] cdf = new double[pages];
+        double sum = 0;
+        for (int rank = 1; rank <= pages; rank++) {
+            sum += 1.0 / Math.pow(rank, ZIPF_EXPONENT);
+            cdf[rank - 1] = sum;
+        }
+        for (int i = 0; i < pages; i++) {
+            cdf[i] /= sum;
+        }
+        return cdf;
+    }
+
+    private static int zipfPage(double[] cdf, double u) {
+        int lo = 0;
+        int hi = cdf.length - 1;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (cdf[mid] < u) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+}
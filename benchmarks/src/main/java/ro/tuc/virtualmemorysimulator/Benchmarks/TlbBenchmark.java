@@ -0,0 +1,76 @@
+package ro.tuc.virtualmemorysimulator.Benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import ro.tuc.virtualmemorysimulator.Model.ReplacementPolicy;
+import ro.tuc.virtualmemorysimulator.Model.TLB;
+
+import java.util.concurrent.TimeUnit;
+
+// TLB.lookup and TLB.update in isolation, for fully associative and set-associative geometries.
+// lookup replays the trace against a TLB that is refilled on every miss, so the hit rate follows the trace.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class TlbBenchmark {
+
+    private static final int TRACE_LENGTH = 1 << 16;
+    private static final int FOOTPRINT_PAGES = 1 << 14;
+    private static final int OPS_PER_INVOCATION = 1024;
+
+    @Param({"UNIFORM", "ZIPFIAN", "SEQUENTIAL", "LOOPING"})
+    public SyntheticTraces.Kind trace;
+
+    @Param({"16", "64", "1536"})
+    public int entries;
+
+    // 0 = fully associative
+    @Param({"0", "4"})
+    public int ways;
+
+    private TLB tlb;
+    private long[] vpns;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        vpns = SyntheticTraces.toVpns(SyntheticTraces.generate(trace, TRACE_LENGTH, FOOTPRINT_PAGES, 42));
+        tlb = new TLB(entries, (ways == 0) ? entries : ways, ReplacementPolicy.LRU);
+        for (int i = 0; i < TRACE_LENGTH; i++) {
+            tlb.update(vpns[i], i);
+        }
+        next = 0;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OPS_PER_INVOCATION)
+    public int lookup() {
+        int i = next;
+        int sum = 0;
+        for (int n = 0; n < OPS_PER_INVOCATION; n++) {
+            long vpn = vpns[i];
+            int frame = tlb.lookup(vpn);
+            if (frame == TLB.MISS) {
+                tlb.update(vpn, i);
+            } else {
+                sum += frame;
+            }
+            i = (i + 1) & (TRACE_LENGTH - 1);
+        }
+        next = i;
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OPS_PER_INVOCATION)
+    public void update() {
+        int i = next;
+        for (int n = 0; n < OPS_PER_INVOCATION; n++) {
+            tlb.update(vpns[i], i);
+            i = (i + 1) & (TRACE_LENGTH - 1);
+        }
+        next = i;
+    }
+}
@@ -0,0 +1,137 @@
+package ro.tuc.virtualmemorysimulator.BusinessLogic;
+
+import ro.tuc.virtualmemorysimulator.Model.Frame;
+
+import java.util.Arrays;
+import java.util.List;
+
+// Adaptive Replacement Cache (Megiddo & Modha): resident pages seen once (T1) or more (T2), plus ghost
+// lists of pages recently evicted from each (B1, B2). A ghost hit in B1 grows the target size p of T1,
+// one in B2 shrinks it, so the split between recency and frequency follows the workload and a one-off
+// scan only ever displaces T1. The ghost lists together hold at most numFrames VPNs; every step is O(1).
+public class ARCAlgorithm implements Algorithm {
+    private static final int T1 = 0;
+    private static final int T2 = 1;
+    private static final int B1 = 2;
+    private static final int B2 = 3;
+
+    private int numFrames = 0;
+    private int p = 0; // target size of T1
+    private PageNodes nodes = new PageNodes(0);
+    private NodeLists lists = new NodeLists(0, 4);
+    private int[] nodeOfFrame = new int[0];
+
+    // Set by onPageFault for the page about to be loaded
+    private long pendingVpn;
+    private int pendingGhost = -1;
+    private boolean pendingInB2;
+    private boolean dropT1Victim;
+
+    @Override
+    public void reset(int numFrames) {
+        if (numFrames != this.numFrames || nodeOfFrame.length != numFrames) {
+            int capacity = 2 * numFrames + 1;
+            nodes = new PageNodes(capacity);
+            lists = new NodeLists(capacity, 4);
+            nodeOfFrame = new int[numFrames];
+        } else {
+            nodes.clear();
+            lists.clear();
+        }
+        Arrays.fill(nodeOfFrame, -1);
+        this.numFrames = numFrames;
+        p = 0;
+        pendingGhost = -1;
+        dropT1Victim = false;
+    }
+
+    @Override
+    public void onPageFault(long vpn, int currentIndex) {
+        pendingVpn = vpn;
+        pendingGhost = -1;
+        pendingInB2 = false;
+        dropT1Victim = false;
+
+        int node = nodes.find(vpn);
+        int list = (node >= 0) ? lists.listOf(node) : -1;
+        int t1 = lists.size(T1);
+        int b1 = lists.size(B1);
+        int b2 = lists.size(B2);
+        if (list == B1) {
+            p = Math.min(numFrames, p + Math.max(b2 / b1, 1));
+            pendingGhost = node;
+        } else if (list == B2) {
+            p = Math.max(0, p - Math.max(b1 / b2, 1));
+            pendingGhost = node;
+            pendingInB2 = true;
+        } else if (t1 + b1 == numFrames) {
+            // Keep |T1| + |B1| within the cache size
+            if (t1 < numFrames) {
+                discard(lists.back(B1));
+            } else {
+                dropT1Victim = true;
+            }
+        } else if (t1 + b1 + lists.size(T2) + b2 >= 2 * numFrames) {
+            discard(lists.back(B2));
+        }
+    }
+
+    @Override
+    public int replacePage(List<Frame> frames, long[] referenceString, int currentIndex) {
+        int t1 = lists.size(T1);
+        boolean fromT1 = t1 > 0 && (dropT1Victim || t1 > p || (pendingInB2 && t1 == p) || lists.size(T2) == 0);
+        int victim = lists.back(fromT1 ? T1 : T2);
+        if (victim < 0) return 0;
+
+        int frame = nodes.frame(victim);
+        nodeOfFrame[frame] = -1;
+        if (dropT1Victim) {
+            // T1 alone fills the cache and B1 is empty: the victim is not remembered
+            discard(victim);
+        } else {
+            nodes.setFrame(victim, -1);
+            lists.addFront(fromT1 ? B1 : B2, victim);
+        }
+        return frame;
+    }
+
+    @Override
+    public void onFrameLoaded(int frameIndex, boolean replaced, int currentIndex) {
+        int node = pendingGhost;
+        if (node >= 0) {
+            // Seen before: it has been used more than once
+            lists.addFront(T2, node);
+        } else {
+            node = nodes.add(pendingVpn);
+            lists.addFront(T1, node);
+        }
+        nodes.setFrame(node, frameIndex);
+        nodeOfFrame[frameIndex] = node;
+        pendingGhost = -1;
+        dropT1Victim = false;
+    }
+
+    @Override
+    public void onFrameAccessed(int frameIndex, int currentIndex) {
+        int node = nodeOfFrame[frameIndex];
+        if (node >= 0) lists.addFront(T2, node);
+    }
+
+    // Forgotten outright: the page left without a replacement decision, so it says nothing about p
+    @Override
+    public void onFrameFreed(int frameIndex) {
+        discard(nodeOfFrame[frameIndex]);
+        nodeOfFrame[frameIndex] = -1;
+    }
+
+    @Override
+    public String getName() {
+        return "ARC";
+    }
+
+    private void discard(int node) {
+        if (node < 0) return;
+        lists.remove(node);
+        nodes.free(node);
+    }
+}
@@ -4,7 +4,44 @@ import ro.tuc.virtualmemorysimulator.Model.Frame;
 import java.util.List;
 
 public interface Algorithm {
-    int replacePage(List<Frame> frames, List<Integer> referenceString, int currentIndex);
+    int replacePage(List<Frame> frames, long[] referenceString, int currentIndex);
 
     String getName();
+
+    // Offline policies need the whole reference string up front and cannot run on a streamed trace
+    default boolean requiresFullTrace() {
+        return false;
+    }
+
+    // Notifications from MemoryManager, so policies can keep their own bookkeeping
+    default void reset(int numFrames) {
+    }
+
+    default void onTraceLoaded(long[] vpnTrace) {
+    }
+
+    // Stored trace; the page keys may be shared with other runs and must not be modified
+    default void onTraceLoaded(PageTrace trace) {
+        onTraceLoaded(trace.getPageKeys());
+    }
+
+    // Before a page is brought in (and before replacePage when memory is full): the VPN being loaded,
+    // for policies that keep history about pages that are no longer resident
+    default void onPageFault(long vpn, int currentIndex) {
+    }
+
+    default void onFrameLoaded(int frameIndex, boolean replaced, int currentIndex) {
+    }
+
+    default void onFrameAccessed(int frameIndex, int currentIndex) {
+    }
+
+    // The working-set and PFF modes released the frame's page without a replacement; the frame is free
+    // until a later onFrameLoaded (with replaced = false). replacePage is only called once no frame is free.
+    default void onFrameFreed(int frameIndex) {
+    }
+
+    // After onFrameAccessed / onFrameLoaded when the access was a write (the page is now dirty)
+    default void onFrameWritten(int frameIndex) {
+    }
 }
@@ -0,0 +1,37 @@
+package ro.tuc.virtualmemorysimulator.BusinessLogic;
+
+import java.util.List;
+import java.util.Locale;
+
+public final class AlgorithmFactory {
+
+    private static final List<String> NAMES = List.of("FIFO", "LRU", "Optimal", "Clock", "EnhancedClock",
+            "ARC", "2Q", "LIRS", "CFLRU");
+
+    private AlgorithmFactory() {
+    }
+
+    public static List<String> getAlgorithmNames() {
+        return NAMES;
+    }
+
+    // Returns null for an unknown name; matching ignores case
+    public static Algorithm create(String name) {
+        if (name == null) {
+            return null;
+        }
+
+        return switch (name.toUpperCase(Locale.ROOT)) {
+            case "FIFO" -> new FIFOAlgorithm();
+            case "LRU" -> new LinkedLRUAlgorithm();
+            case "OPTIMAL" -> new OptimalAlgorithm();
+            case "CLOCK" -> new ClockAlgorithm();
+            case "ENHANCEDCLOCK" -> new EnhancedClockAlgorithm();
+            case "ARC" -> new ARCAlgorithm();
+            case "2Q" -> new TwoQAlgorithm();
+            case "LIRS" -> new LIRSAlgorithm();
+            case "CFLRU" -> new CFLRUAlgorithm();
+            default -> null;
+        };
+    }
+}
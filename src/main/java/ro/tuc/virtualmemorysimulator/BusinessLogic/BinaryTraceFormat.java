@@ -0,0 +1,27 @@
+package ro.tuc.virtualmemorysimulator.BusinessLogic;
+
+import java.nio.ByteOrder;
+
+// Layout of the binary trace format (all fields little-endian):
+//   header (32 bytes): magic "VMTR", u16 version, u16 record size, u64 record count, 16 reserved bytes
+//   records: virtual address (u32, or u64 for traces with 64-bit addresses), u8 flags (bit 0 = write,
+//   bits 1-7 = process id); the record size field (5 or 9) tells the two apart
+// Version 2 added the 9-byte records and the process id, which a version-1 reader would misread. Version 1
+// files have flag bits 1-7 clear and read the same, so they stay supported; newer versions are rejected.
+public final class BinaryTraceFormat {
+
+    public static final byte[] MAGIC = {'V', 'M', 'T', 'R'};
+    public static final short VERSION = 2;
+    public static final short OLDEST_READABLE_VERSION = 1;
+    public static final int HEADER_SIZE = 32;
+    public static final int RECORD_SIZE = 5;
+    public static final int WIDE_RECORD_SIZE = 9;
+    public static final int COUNT_OFFSET = 8;
+    public static final byte FLAG_WRITE = 1;
+    public static final int PID_SHIFT = 1;
+    public static final int MAX_PID = 0x7F;
+    public static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    private BinaryTraceFormat() {
+    }
+}
@@ -0,0 +1,167 @@
+package ro.tuc.virtualmemorysimulator.BusinessLogic;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+// Memory-mapped reader for the binary trace format.
+// Records are decoded straight from the mapping; files larger than one mapping (2 GB)
+// are mapped window by window as the reader advances.
+public class BinaryTraceReader implements TraceSource {
+
+    private static final long WINDOW_BYTES = 1L << 30;
+
+    private final FileChannel channel;
+    private final long recordCount;
+    private int recordSize;
+    private int addressBytes;
+    private long recordsPerWindow;
+
+    private MappedByteBuffer window;
+    private long windowStart = 0;
+    private long windowEnd = 0;
+
+    private long position = 0; // next record returned by read()
+
+    public BinaryTraceReader(Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            this.recordCount = readHeader(path);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public static boolean isBinaryTrace(Path path) throws IOException {
+        try (FileChannel ch = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer magic = ByteBuffer.allocate(BinaryTraceFormat.MAGIC.length);
+            while (magic.hasRemaining() && ch.read(magic) >= 0) {
+                // read until full or end of file
+            }
+            return !magic.hasRemaining() && Arrays.equals(magic.array(), BinaryTraceFormat.MAGIC);
+        }
+    }
+
+    private long readHeader(Path path) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(BinaryTraceFormat.HEADER_SIZE).order(BinaryTraceFormat.BYTE_ORDER);
+        while (header.hasRemaining() && channel.read(header, header.position()) >= 0) {
+            // read until full or end of file
+        }
+        if (header.hasRemaining()) {
+            throw new IOException(path + " is too short to be a binary trace");
+        }
+        header.flip();
+
+        byte[] magic = new byte[BinaryTraceFormat.MAGIC.length];
+        header.get(magic);
+        if (!Arrays.equals(magic, BinaryTraceFormat.MAGIC)) {
+            throw new IOException(path + " is not a binary trace (bad magic)");
+        }
+        short version = header.getShort();
+        if (version < BinaryTraceFormat.OLDEST_READABLE_VERSION || version > BinaryTraceFormat.VERSION) {
+            throw new IOException(path + " has unsupported binary trace version " + version + " (expected "
+                    + BinaryTraceFormat.OLDEST_READABLE_VERSION + " to " + BinaryTraceFormat.VERSION + ")");
+        }
+        short size = header.getShort();
+        if (size != BinaryTraceFormat.RECORD_SIZE && size != BinaryTraceFormat.WIDE_RECORD_SIZE) {
+            throw new IOException(path + " has unexpected record size " + size);
+        }
+        recordSize = size;
+        addressBytes = size - 1;
+        recordsPerWindow = WINDOW_BYTES / size;
+
+        long count = header.getLong();
+        // A corrupt count could overflow the expected size and pass the length check
+        if (count < 0 || count > (Long.MAX_VALUE - BinaryTraceFormat.HEADER_SIZE) / recordSize
+                || channel.size() < BinaryTraceFormat.HEADER_SIZE + count * recordSize) {
+            throw new IOException(path + " is truncated: header announces " + count + " records");
+        }
+        return count;
+    }
+
+    public long size() {
+        return recordCount;
+    }
+
+    // True for traces with 64-bit address records
+    public boolean isWideAddresses() {
+        return addressBytes == Long.BYTES;
+    }
+
+    public long getAddress(long index) throws IOException {
+        return addressAt(mappedWindowFor(index), offsetInWindow(index));
+    }
+
+    public boolean isWrite(long index) throws IOException {
+        return (mappedWindowFor(index).get(offsetInWindow(index) + addressBytes) & BinaryTraceFormat.FLAG_WRITE) != 0;
+    }
+
+    @Override
+    public int read(long[] addresses, boolean[] writes, int offset, int length) throws IOException {
+        return read(addresses, writes, null, offset, length);
+    }
+
+    // pids may be null when the caller does not need them
+    @Override
+    public int read(long[] addresses, boolean[] writes, int[] pids, int offset, int length) throws IOException {
+        if (position >= recordCount) {
+            return -1;
+        }
+
+        int n = (int) Math.min(length, recordCount - position);
+        int i = 0;
+        while (i < n) {
+            MappedByteBuffer w = mappedWindowFor(position);
+            int inWindow = (int) Math.min(n - i, windowEnd - position);
+            int at = offsetInWindow(position);
+            for (int j = 0; j < inWindow; j++, at += recordSize) {
+                int flags = w.get(at + addressBytes) & 0xFF;
+                addresses[offset + i + j] = addressAt(w, at);
+                writes[offset + i + j] = (flags & BinaryTraceFormat.FLAG_WRITE) != 0;
+                if (pids != null) pids[offset + i + j] = flags >>> BinaryTraceFormat.PID_SHIFT;
+            }
+            i += inWindow;
+            position += inWindow;
+        }
+        return n;
+    }
+
+    public void rewind() {
+        position = 0;
+    }
+
+    // 32-bit addresses are unsigned
+    private long addressAt(MappedByteBuffer w, int at) {
+        return (addressBytes == Long.BYTES) ? w.getLong(at) : Integer.toUnsignedLong(w.getInt(at));
+    }
+
+    private int offsetInWindow(long index) {
+        return (int) ((index - windowStart) * recordSize);
+    }
+
+    private MappedByteBuffer mappedWindowFor(long index) throws IOException {
+        if (index < 0 || index >= recordCount) {
+            throw new IndexOutOfBoundsException("Record " + index + " outside trace of " + recordCount + " records");
+        }
+        if (window == null || index < windowStart || index >= windowEnd) {
+            windowStart = (index / recordsPerWindow) * recordsPerWindow;
+            windowEnd = Math.min(recordCount, windowStart + recordsPerWindow);
+            long byteOffset = BinaryTraceFormat.HEADER_SIZE + windowStart * recordSize;
+            long byteLength = (windowEnd - windowStart) * recordSize;
+            window = channel.map(FileChannel.MapMode.READ_ONLY, byteOffset, byteLength);
+            window.order(BinaryTraceFormat.BYTE_ORDER);
+        }
+        return window;
+    }
+
+    @Override
+    public void close() throws IOException {
+        window = null;
+        channel.close();
+    }
+}
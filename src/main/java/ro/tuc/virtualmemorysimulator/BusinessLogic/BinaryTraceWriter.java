@@ -0,0 +1,126 @@
+package ro.tuc.virtualmemorysimulator.BusinessLogic;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+public class BinaryTraceWriter implements Closeable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int CONVERT_CHUNK_SIZE = 64 * 1024;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+    private final boolean wideAddresses;
+    private final int recordSize;
+    private long count = 0;
+
+    public BinaryTraceWriter(Path path) throws IOException {
+        this(path, false);
+    }
+
+    // Wide traces store 64-bit addresses (9-byte records) instead of 32-bit ones
+    public BinaryTraceWriter(Path path, boolean wideAddresses) throws IOException {
+        this.wideAddresses = wideAddresses;
+        this.recordSize = wideAddresses ? BinaryTraceFormat.WIDE_RECORD_SIZE : BinaryTraceFormat.RECORD_SIZE;
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        this.buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(BinaryTraceFormat.BYTE_ORDER);
+
+        // Header; the record count is patched in on close
+        buffer.put(BinaryTraceFormat.MAGIC);
+        buffer.putShort(BinaryTraceFormat.VERSION);
+        buffer.putShort((short) recordSize);
+        buffer.putLong(0L);
+        buffer.put(new byte[BinaryTraceFormat.HEADER_SIZE - buffer.position()]);
+    }
+
+    // Converts a text trace (ADDR:R/W or PID:ADDR:R/W syntax) into the binary format; returns the record count.
+    // 32-bit records are used unless an address needs more, in which case the file is rewritten wide.
+    public static long convertText(Path textTrace, Path binaryTrace) throws IOException {
+        long count = convertText(textTrace, binaryTrace, false);
+        if (count < 0) {
+            count = convertText(textTrace, binaryTrace, true);
+        }
+        return count;
+    }
+
+    // Returns -1 if a narrow conversion meets an address above 32 bits
+    private static long convertText(Path textTrace, Path binaryTrace, boolean wide) throws IOException {
+        long[] addresses = new long[CONVERT_CHUNK_SIZE];
+        boolean[] writes = new boolean[CONVERT_CHUNK_SIZE];
+        int[] pids = new int[CONVERT_CHUNK_SIZE];
+
+        try (TraceStreamReader reader = TraceStreamReader.open(textTrace);
+             BinaryTraceWriter writer = new BinaryTraceWriter(binaryTrace, wide)) {
+            int n;
+            while ((n = reader.read(addresses, writes, pids, 0, CONVERT_CHUNK_SIZE)) >= 0) {
+                for (int i = 0; i < n; i++) {
+                    if (!wide && !fitsIn32Bits(addresses[i])) {
+                        return -1;
+                    }
+                    writer.write(addresses[i], writes[i], pids[i]);
+                }
+            }
+            return writer.getCount();
+        }
+    }
+
+    public static boolean fitsIn32Bits(long virtualAddress) {
+        return (virtualAddress >>> Integer.SIZE) == 0;
+    }
+
+    public void write(long virtualAddress, boolean isWrite) throws IOException {
+        write(virtualAddress, isWrite, 0);
+    }
+
+    public void write(long virtualAddress, boolean isWrite, int pid) throws IOException {
+        if (pid < 0 || pid > BinaryTraceFormat.MAX_PID) {
+            throw new IllegalArgumentException("Binary traces hold process ids 0-" + BinaryTraceFormat.MAX_PID + ": " + pid);
+        }
+        if (buffer.remaining() < recordSize) {
+            flush();
+        }
+        if (wideAddresses) {
+            buffer.putLong(virtualAddress);
+        } else if (fitsIn32Bits(virtualAddress)) {
+            buffer.putInt((int) virtualAddress);
+        } else {
+            throw new IllegalArgumentException("Address 0x" + Long.toHexString(virtualAddress)
+                    + " does not fit a 32-bit trace record");
+        }
+        buffer.put((byte) ((pid << BinaryTraceFormat.PID_SHIFT) | (isWrite ? BinaryTraceFormat.FLAG_WRITE : 0)));
+        count++;
+    }
+
+    public boolean isWideAddresses() {
+        return wideAddresses;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+            ByteBuffer countField = ByteBuffer.allocate(Long.BYTES).order(BinaryTraceFormat.BYTE_ORDER);
+            countField.putLong(count).flip();
+            channel.write(countField, BinaryTraceFormat.COUNT_OFFSET);
+        } finally {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package ro.tuc.virtualmemorysimulator.BusinessLogic;
+
+import ro.tuc.virtualmemorysimulator.Model.Frame;
+
+import java.util.Arrays;
+import java.util.List;
+
+// Clean-First LRU (Park et al.): the least recently used end of the LRU list is a clean-first window,
+// and a fault evicts the least recently used clean page in it; only a window that is all dirty gives up
+// the plain LRU victim. Trades a few extra faults for fewer write-backs when writing a page out costs
+// more than reading one in. The window covers a quarter of the frames by default.
+// The list is kept in two parts: the working region, and the window split into a clean and a dirty list.
+// Pages enter the window from the back of the working region, so both window lists stay in LRU order
+// and every access and fault costs O(1).
+public class CFLRUAlgorithm implements Algorithm {
+    public static final int DEFAULT_WINDOW_PERCENT = 25;
+
+    private static final int WORKING = 0;
+    private static final int WINDOW_CLEAN = 1;
+    private static final int WINDOW_DIRTY = 2;
+
+    private final int windowPercent;
+    private int numFrames = 0;
+    private int window = 1;
+    private NodeLists lists = new NodeLists(0, 3);
+    private long[] dirty = new long[0];
+
+    public CFLRUAlgorithm() {
+        this(DEFAULT_WINDOW_PERCENT);
+    }
+
+    public CFLRUAlgorithm(int windowPercent) {
+        if (windowPercent < 0 || windowPercent > 100) {
+            throw new IllegalArgumentException("Window must be between 0 and 100 percent of the frames: " + windowPercent);
+        }
+        this.windowPercent = windowPercent;
+    }
+
+    @Override
+    public void reset(int numFrames) {
+        window = Math.max(1, (int) ((long) numFrames * windowPercent / 100));
+        if (numFrames != this.numFrames) {
+            lists = new NodeLists(numFrames, 3);
+            dirty = new long[(numFrames + 63) >>> 6];
+        } else {
+            lists.clear();
+            Arrays.fill(dirty, 0);
+        }
+        this.numFrames = numFrames;
+    }
+
+    @Override
+    public int replacePage(List<Frame> frames, long[] referenceString, int currentIndex) {
+        int victim = lists.back(WINDOW_CLEAN);
+        if (victim < 0) victim = lists.back(WINDOW_DIRTY);
+        return (victim < 0) ? 0 : victim;
+    }
+
+    @Override
+    public void onFrameLoaded(int frameIndex, boolean replaced, int currentIndex) {
+        dirty[frameIndex >>> 6] &= ~(1L << frameIndex);
+        touch(frameIndex);
+    }
+
+    @Override
+    public void onFrameAccessed(int frameIndex, int currentIndex) {
+        touch(frameIndex);
+    }
+
+    @Override
+    public void onFrameWritten(int frameIndex) {
+        dirty[frameIndex >>> 6] |= 1L << frameIndex;
+        // Only the most recent page when the window holds every resident page
+        if (lists.listOf(frameIndex) == WINDOW_CLEAN) lists.addFront(WINDOW_DIRTY, frameIndex);
+    }
+
+    @Override
+    public void onFrameFreed(int frameIndex) {
+        lists.remove(frameIndex);
+        dirty[frameIndex >>> 6] &= ~(1L << frameIndex);
+        fillWindow();
+    }
+
+    @Override
+    public String getName() {
+        return "CFLRU";
+    }
+
+    private void touch(int frame) {
+        lists.addFront(WORKING, frame);
+        fillWindow();
+    }
+
+    // The window holds the `window` least recently used pages, or every page while fewer are resident
+    private void fillWindow() {
+        while (lists.size(WINDOW_CLEAN) + lists.size(WINDOW_DIRTY) < window && lists.size(WORKING) > 0) {
+            int oldest = lists.back(WORKING);
+            boolean isDirty = (dirty[oldest >>> 6] & (1L << oldest)) != 0;
+            lists.addFront(isDirty ? WINDOW_DIRTY : WINDOW_CLEAN, oldest);
+        }
+    }
+}
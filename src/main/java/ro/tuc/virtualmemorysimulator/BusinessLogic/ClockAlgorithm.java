@@ -0,0 +1,70 @@
+package ro.tuc.virtualmemorysimulator.BusinessLogic;
+
+import ro.tuc.virtualmemorysimulator.Model.Frame;
+
+import java.util.Arrays;
+import java.util.List;
+
+// Second-chance (Clock): frames sit on a circle with a referenced bit each, kept 64 to a long.
+// The hand clears set bits as it passes and stops at the first clear one; since every bit it clears
+// was set by an access, a fault costs amortized O(1).
+public class ClockAlgorithm implements Algorithm {
+    protected long[] referenced = new long[0];
+    protected int numFrames = 0;
+    protected int hand = 0;
+
+    @Override
+    public void reset(int numFrames) {
+        this.numFrames = numFrames;
+        int words = (numFrames + 63) >>> 6;
+        if (referenced.length != words) {
+            referenced = new long[words];
+        } else {
+            Arrays.fill(referenced, 0);
+        }
+        hand = 0;
+    }
+
+    @Override
+    public int replacePage(List<Frame> frames, long[] referenceString, int currentIndex) {
+        if (numFrames == 0) return 0;
+        while (isSet(referenced, hand)) {
+            clear(referenced, hand);
+            advance();
+        }
+        int victim = hand;
+        advance();
+        return victim;
+    }
+
+    @Override
+    public void onFrameLoaded(int frameIndex, boolean replaced, int currentIndex) {
+        set(referenced, frameIndex);
+    }
+
+    @Override
+    public void onFrameAccessed(int frameIndex, int currentIndex) {
+        set(referenced, frameIndex);
+    }
+
+    @Override
+    public String getName() {
+        return "Clock";
+    }
+
+    protected void advance() {
+        hand = (hand + 1 == numFrames) ? 0 : hand + 1;
+    }
+
+    protected static boolean isSet(long[] bits, int index) {
+        return (bits[index >>> 6] & (1L << index)) != 0;
+    }
+
+    protected static void set(long[] bits, int index) {
+        bits[index >>> 6] |= 1L << index;
+    }
+
+    protected static void clear(long[] bits, int index) {
+        bits[index >>> 6] &= ~(1L << index);
+    }
+}
@@ -0,0 +1,84 @@
+package ro.tuc.virtualmemorysimulator.BusinessLogic;
+
+// Counters of one simulated core in a MultiCoreSimulator run. Each core updates only its own instance,
+// so they need no synchronization; they are read after the core threads have been joined.
+public class CoreStats {
+
+    private final int core;
+    long requests = 0;
+    long tlbHits = 0;
+    long pageWalks = 0;
+    long faults = 0;
+    long evictions = 0;
+    long dirtyWriteBacks = 0;
+    long contendedLocks = 0;
+
+    // Shootdowns this core initiated (one per eviction), the IPIs they sent and how long it waited for
+    // every other core to acknowledge; invalidations are the requests this core received and served
+    long shootdowns = 0;
+    long interrupts = 0;
+    long shootdownNanos = 0;
+    long maxShootdownNanos = 0;
+    long invalidations = 0;
+
+    CoreStats(int core) {
+        this.core = core;
+    }
+
+    public int getCore() {
+        return core;
+    }
+
+    public long getRequests() {
+        return requests;
+    }
+
+    public long getTlbHits() {
+        return tlbHits;
+    }
+
+    public long getPageWalks() {
+        return pageWalks;
+    }
+
+    public long getFaults() {
+        return faults;
+    }
+
+    public long getEvictions() {
+        return evictions;
+    }
+
+    public long getDirtyWriteBacks() {
+        return dirtyWriteBacks;
+    }
+
+    // Page-table stripe locks that were held by another core when this one needed them
+    public long getContendedLocks() {
+        return contendedLocks;
+    }
+
+    public long getShootdowns() {
+        return shootdowns;
+    }
+
+    public long getInterrupts() {
+        return interrupts;
+    }
+
+    public long getShootdownNanos() {
+        return shootdownNanos;
+    }
+
+    public long getMaxShootdownNanos() {
+        return maxShootdownNanos;
+    }
+
+    public long getInvalidations() {
+        return invalidations;
+    }
+
+    public double getAverageShootdownNanos() {
+        return (shootdowns == 0) ? 0.0 : (double) shootdownNanos / shootdowns;
+    }
+}
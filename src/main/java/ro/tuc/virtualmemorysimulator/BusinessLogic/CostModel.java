@@ -0,0 +1,73 @@
+package ro.tuc.virtualmemorysimulator.BusinessLogic;
+
+// Latencies, in nanoseconds, that turn a run's event counts into an effective access time:
+// every access pays a TLB lookup and one memory reference for the data, every paging-structure read
+// of a page walk another memory reference, every fault the kernel's handling, a page-in one read from
+// the backing store and a dirty eviction one write to it. The defaults approximate DRAM and an SSD swap device.
+public class CostModel {
+
+    public static final long DEFAULT_TLB_NANOS = 1;
+    public static final long DEFAULT_MEMORY_NANOS = 100;
+    public static final long DEFAULT_FAULT_NANOS = 1_000;
+    public static final long DEFAULT_PAGE_IN_NANOS = 100_000;
+    public static final long DEFAULT_WRITE_BACK_NANOS = 100_000;
+
+    private final long tlbNanos;
+    private final long memoryNanos;
+    private final long faultNanos;
+    private final long pageInNanos;
+    private final long writeBackNanos;
+
+    public CostModel(long tlbNanos, long memoryNanos, long faultNanos, long pageInNanos, long writeBackNanos) {
+        if (tlbNanos < 0 || memoryNanos < 0 || faultNanos < 0 || pageInNanos < 0 || writeBackNanos < 0) {
+            throw new IllegalArgumentException("Latencies cannot be negative: " + tlbNanos + ", " + memoryNanos
+                    + ", " + faultNanos + ", " + pageInNanos + ", " + writeBackNanos);
+        }
+        this.tlbNanos = tlbNanos;
+        this.memoryNanos = memoryNanos;
+        this.faultNanos = faultNanos;
+        this.pageInNanos = pageInNanos;
+        this.writeBackNanos = writeBackNanos;
+    }
+
+    public static CostModel defaultCosts() {
+        return new CostModel(DEFAULT_TLB_NANOS, DEFAULT_MEMORY_NANOS, DEFAULT_FAULT_NANOS,
+                DEFAULT_PAGE_IN_NANOS, DEFAULT_WRITE_BACK_NANOS);
+    }
+
+    public long getTlbNanos() {
+        return tlbNanos;
+    }
+
+    public long getMemoryNanos() {
+        return memoryNanos;
+    }
+
+    public long getFaultNanos() {
+        return faultNanos;
+    }
+
+    public long getPageInNanos() {
+        return pageInNanos;
+    }
+
+    public long getWriteBackNanos() {
+        return writeBackNanos;
+    }
+
+    // Translation and data access: TLB lookups, the data reference and the page-walk reads
+    public double memoryTime(long requests, long walkReferences) {
+        return (double) requests * (tlbNanos + memoryNanos) + (double) walkReferences * memoryNanos;
+    }
+
+    // Faults handled, pages read back in and dirty pages written out
+    public double pagingTime(long faults, long pageIns, long writeBacks) {
+        return (double) faults * faultNanos + (double) pageIns * pageInNanos + (double) writeBacks * writeBackNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("TLB %d ns, memory %d ns, fault %d ns, page-in %d ns, write-back %d ns",
+                tlbNanos, memoryNanos, faultNanos, pageInNanos, writeBackNanos);
+    }
+}
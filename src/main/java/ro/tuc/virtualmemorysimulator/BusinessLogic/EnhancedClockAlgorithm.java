@@ -0,0 +1,91 @@
+package ro.tuc.virtualmemorysimulator.BusinessLogic;
+
+import ro.tuc.virtualmemorysimulator.Model.Frame;
+
+import java.util.Arrays;
+import java.util.List;
+
+// Enhanced second-chance: ranks frames by (referenced, dirty) and prefers to evict a clean page.
+// Frames whose referenced bit the hand has cleared are kept on a clean and a dirty list in the order the
+// hand passed them, which is the order a sweep from the hand would meet them: a fault takes the first
+// (0,0) frame off the clean list in O(1) instead of scanning for it. Only when there is none does the hand
+// move on like Clock, clearing referenced bits up to the first unreferenced (dirty) frame; every bit it
+// clears was set by an access, so a fault costs amortized O(1).
+public class EnhancedClockAlgorithm extends ClockAlgorithm {
+    private static final int COLD_CLEAN = 0;
+    private static final int COLD_DIRTY = 1;
+
+    private long[] dirty = new long[0];
+    private NodeLists cold = new NodeLists(0, 2);
+
+    @Override
+    public void reset(int numFrames) {
+        boolean resized = numFrames != this.numFrames;
+        super.reset(numFrames);
+        if (dirty.length != referenced.length) {
+            dirty = new long[referenced.length];
+        } else {
+            Arrays.fill(dirty, 0);
+        }
+        if (resized || numFrames == 0) {
+            cold = new NodeLists(numFrames, 2);
+        } else {
+            cold.clear();
+        }
+    }
+
+    @Override
+    public int replacePage(List<Frame> frames, long[] referenceString, int currentIndex) {
+        if (numFrames == 0) return 0;
+        int victim = cold.back(COLD_CLEAN);
+        if (victim < 0) {
+            int passed = 0;
+            while (isSet(referenced, hand)) {
+                clear(referenced, hand);
+                cold.addFront(isSet(dirty, hand) ? COLD_DIRTY : COLD_CLEAN, hand);
+                advance();
+                passed++;
+            }
+            // After a full turn every frame has just lost its bit: a clean one still goes first
+            victim = (passed >= numFrames && cold.size(COLD_CLEAN) > 0) ? cold.back(COLD_CLEAN) : takeHand();
+        }
+        cold.remove(victim);
+        return victim;
+    }
+
+    @Override
+    public void onFrameLoaded(int frameIndex, boolean replaced, int currentIndex) {
+        cold.remove(frameIndex);
+        super.onFrameLoaded(frameIndex, replaced, currentIndex);
+        clear(dirty, frameIndex);
+    }
+
+    @Override
+    public void onFrameAccessed(int frameIndex, int currentIndex) {
+        if (!isSet(referenced, frameIndex)) {
+            cold.remove(frameIndex);
+            set(referenced, frameIndex);
+        }
+    }
+
+    @Override
+    public void onFrameWritten(int frameIndex) {
+        set(dirty, frameIndex);
+    }
+
+    @Override
+    public void onFrameFreed(int frameIndex) {
+        cold.remove(frameIndex);
+    }
+
+    @Override
+    public String getName() {
+        return "EnhancedClock";
+    }
+
+    private int takeHand() {
+        int victim = hand;
+        advance();
+        return victim;
+    }
+}
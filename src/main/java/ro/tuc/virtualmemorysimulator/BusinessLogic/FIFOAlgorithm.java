@@ -2,31 +2,83 @@ package ro.tuc.virtualmemorysimulator.BusinessLogic;
 
 import ro.tuc.virtualmemorysimulator.Model.Frame;
 
-import java.util.LinkedList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Queue;
 
+// Frames in load order, kept in an int ring buffer so replacements never allocate.
+// The victim moves to the back of the queue, since its frame now holds the newest page.
+// A frame freed by a variable resident set leaves a stale entry that is skipped when it reaches
+// the head; the ring holds two entries per frame and is compacted when it fills up.
 public class FIFOAlgorithm implements Algorithm {
-    private final Queue<Integer> frameQueue;
+    private int[] frameQueue = new int[0];
+    private int head = 0;
+    private int size = 0;
+    private int[] staleEntries = new int[0]; // per frame, entries older than its current one
 
-    public FIFOAlgorithm() {
-        frameQueue = new LinkedList<>();
+    @Override
+    public int replacePage(List<Frame> frames, long[] referenceString, int currentIndex) {
+        while (size > 0 && staleEntries[frameQueue[head]] > 0) {
+            staleEntries[frameQueue[head]]--;
+            head = (head + 1) % frameQueue.length;
+            size--;
+        }
+        if (size == 0) return 0;
+        int frameToReplace = frameQueue[head];
+        head = (head + 1) % frameQueue.length;
+        frameQueue[(head + size - 1) % frameQueue.length] = frameToReplace;
+        return frameToReplace;
+    }
+
+    public void addFrame(int frameId) {
+        if (size == frameQueue.length) {
+            compact();
+        }
+        frameQueue[(head + size) % frameQueue.length] = frameId;
+        size++;
     }
 
     @Override
-    public int replacePage(List<Frame> frames, List<Integer> referenceString, int currentIndex) {
-        int frameToReplace = frameQueue.poll();
-        frameQueue.add(frameToReplace);
-        return frameToReplace;
+    public void reset(int numFrames) {
+        if (staleEntries.length != numFrames) {
+            frameQueue = new int[2 * numFrames];
+            staleEntries = new int[numFrames];
+        } else {
+            Arrays.fill(staleEntries, 0);
+        }
+        head = 0;
+        size = 0;
     }
 
+    @Override
+    public void onFrameLoaded(int frameIndex, boolean replaced, int currentIndex) {
+        // A replaced frame keeps its place in the queue; only newly filled frames join it
+        if (!replaced) {
+            addFrame(frameIndex);
+        }
+    }
 
-    public void addFrame(int frameId) {
-        frameQueue.add(frameId);
+    @Override
+    public void onFrameFreed(int frameIndex) {
+        staleEntries[frameIndex]++;
     }
 
     @Override
     public String getName() {
         return "FIFO";
     }
+
+    // Drops every stale entry; a frame's stale entries always come before its current one
+    private void compact() {
+        int kept = 0;
+        for (int n = 0; n < size; n++) {
+            int frame = frameQueue[(head + n) % frameQueue.length];
+            if (staleEntries[frame] > 0) {
+                staleEntries[frame]--;
+            } else {
+                frameQueue[(head + kept) % frameQueue.length] = frame;
+                kept++;
+            }
+        }
+        size = kept;
+    }
 }
@@ -0,0 +1,60 @@
+package ro.tuc.virtualmemorysimulator.BusinessLogic;
+
+import java.util.Arrays;
+
+// Free physical frames as a bitmap (bit set = free), split into the replacement partitions of a MemoryManager.
+// Each partition remembers the lowest word that may still hold a free frame, so allocation returns the
+// lowest free frame like a linear scan would, but a run of allocations only ever moves that hint forward:
+// filling memory costs O(frames / 64) in total, and a full partition answers in O(1).
+final class FreeFrames {
+
+    private final long[] words;
+    private final int[] partitionStart; // frames of partition p: partitionStart[p] .. partitionStart[p + 1] - 1
+    private final int[] firstWord;
+
+    FreeFrames(int[] partitionStart) {
+        this.partitionStart = partitionStart;
+        int numFrames = partitionStart[partitionStart.length - 1];
+        this.words = new long[(numFrames + 63) >>> 6];
+        this.firstWord = new int[partitionStart.length - 1];
+        reset();
+    }
+
+    // Every frame free again
+    void reset() {
+        int numFrames = partitionStart[partitionStart.length - 1];
+        Arrays.fill(words, -1L);
+        if ((numFrames & 63) != 0) {
+            words[words.length - 1] = (1L << numFrames) - 1;
+        }
+        for (int p = 0; p < firstWord.length; p++) {
+            firstWord[p] = partitionStart[p] >>> 6;
+        }
+    }
+
+    // Lowest free frame of the partition, now taken; -1 if it has none
+    int allocate(int partition) {
+        int start = partitionStart[partition];
+        int end = partitionStart[partition + 1];
+        int lastWord = (end - 1) >>> 6;
+        for (int w = firstWord[partition]; w <= lastWord; w++) {
+            // Words on a partition boundary also hold the neighbour's frames
+            long bits = words[w];
+            if ((w << 6) < start) bits &= -1L << start;
+            if (((w + 1) << 6) > end) bits &= (1L << end) - 1;
+            if (bits != 0) {
+                int frame = (w << 6) + Long.numberOfTrailingZeros(bits);
+                words[w] &= ~(1L << frame);
+                firstWord[partition] = w;
+                return frame;
+            }
+        }
+        firstWord[partition] = lastWord + 1;
+        return -1;
+    }
+
+    void free(int partition, int frame) {
+        words[frame >>> 6] |= 1L << frame;
+        firstWord[partition] = Math.min(firstWord[partition], frame >>> 6);
+    }
+}
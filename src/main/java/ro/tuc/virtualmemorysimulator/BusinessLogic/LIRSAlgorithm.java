@@ -0,0 +1,190 @@
+package ro.tuc.virtualmemorysimulator.BusinessLogic;
+
+import ro.tuc.virtualmemorysimulator.Model.Frame;
+
+import java.util.Arrays;
+import java.util.List;
+
+// LIRS (Jiang & Zhang): ranks pages by reuse distance rather than recency. Pages with a short
+// inter-reference recency are LIR and stay resident; the rest are HIR and only a few frames
+// (1%, at least one) hold resident HIR pages, so a scan cycles through those frames alone.
+// The stack S orders pages by recency and is pruned so its bottom is always LIR; queue Q holds the
+// resident HIR pages in eviction order. Non-resident HIR pages kept in S are capped at numFrames.
+public class LIRSAlgorithm implements Algorithm {
+    private static final byte LIR = 0;
+    private static final byte HIR = 1; // resident HIR
+    private static final byte GHOST = 2; // non-resident HIR
+
+    // Lists of the queue structure
+    private static final int Q = 0;
+    private static final int GHOSTS = 1;
+
+    private int numFrames = 0;
+    private int lirLimit = 0;
+    private int lirCount = 0;
+    private PageNodes nodes = new PageNodes(0);
+    private NodeLists stack = new NodeLists(0, 1);
+    private NodeLists queues = new NodeLists(0, 2);
+    private byte[] status = new byte[0];
+    private int[] nodeOfFrame = new int[0];
+
+    // Set by onPageFault for the page about to be loaded
+    private long pendingVpn;
+    private int pendingGhost = -1;
+
+    @Override
+    public void reset(int numFrames) {
+        if (numFrames != this.numFrames || nodeOfFrame.length != numFrames) {
+            int capacity = 2 * numFrames + 1;
+            nodes = new PageNodes(capacity);
+            stack = new NodeLists(capacity, 1);
+            queues = new NodeLists(capacity, 2);
+            status = new byte[capacity];
+            nodeOfFrame = new int[numFrames];
+        } else {
+            nodes.clear();
+            stack.clear();
+            queues.clear();
+        }
+        Arrays.fill(nodeOfFrame, -1);
+        this.numFrames = numFrames;
+        lirLimit = numFrames - Math.max(1, numFrames / 100);
+        lirCount = 0;
+        pendingGhost = -1;
+    }
+
+    @Override
+    public void onPageFault(long vpn, int currentIndex) {
+        pendingVpn = vpn;
+        int node = nodes.find(vpn);
+        pendingGhost = (node >= 0 && status[node] == GHOST) ? node : -1;
+        // Taken off the ghost queue so capping it cannot drop the page being loaded
+        if (pendingGhost >= 0) queues.remove(pendingGhost);
+    }
+
+    // The oldest resident HIR page; it stays in S as a ghost if it is still there
+    @Override
+    public int replacePage(List<Frame> frames, long[] referenceString, int currentIndex) {
+        int victim = queues.back(Q);
+        if (victim < 0) {
+            // No resident HIR page (only while the LIR set is still filling up): fall back to S's bottom
+            victim = stack.back(0);
+            if (victim < 0) return 0;
+            stack.remove(victim);
+            lirCount--;
+            status[victim] = HIR;
+            prune();
+        }
+
+        int frame = nodes.frame(victim);
+        nodeOfFrame[frame] = -1;
+        if (stack.listOf(victim) < 0) {
+            queues.remove(victim);
+            nodes.free(victim);
+        } else {
+            if (queues.size(GHOSTS) >= numFrames) dropGhost(queues.back(GHOSTS));
+            status[victim] = GHOST;
+            nodes.setFrame(victim, -1);
+            queues.addFront(GHOSTS, victim);
+        }
+        return frame;
+    }
+
+    @Override
+    public void onFrameLoaded(int frameIndex, boolean replaced, int currentIndex) {
+        int node = pendingGhost;
+        pendingGhost = -1;
+        if (node < 0) {
+            node = nodes.add(pendingVpn);
+            status[node] = HIR;
+        }
+        nodes.setFrame(node, frameIndex);
+        nodeOfFrame[frameIndex] = node;
+
+        if (lirCount < lirLimit) {
+            // Until the LIR set is full every new page is LIR
+            queues.remove(node);
+            status[node] = LIR;
+            lirCount++;
+            stack.addFront(0, node);
+            // After frames were freed, S may hold HIR entries below it with no LIR page left
+            prune();
+        } else if (status[node] == GHOST && lirCount > 0) {
+            // Re-referenced within S: its reuse distance beats the oldest LIR page's
+            queues.remove(node);
+            promote(node);
+        } else {
+            status[node] = HIR;
+            stack.addFront(0, node);
+            queues.addFront(Q, node);
+        }
+    }
+
+    @Override
+    public void onFrameAccessed(int frameIndex, int currentIndex) {
+        int node = nodeOfFrame[frameIndex];
+        if (node < 0) return;
+        if (status[node] == LIR) {
+            boolean wasBottom = stack.back(0) == node;
+            stack.addFront(0, node);
+            if (wasBottom) prune();
+        } else if (stack.listOf(node) >= 0 && lirCount > 0) {
+            queues.remove(node);
+            promote(node);
+        } else {
+            stack.addFront(0, node);
+            queues.addFront(Q, node);
+        }
+    }
+
+    // The page is forgotten; losing an LIR page may expose HIR entries at the bottom of S
+    @Override
+    public void onFrameFreed(int frameIndex) {
+        int node = nodeOfFrame[frameIndex];
+        if (node < 0) return;
+        nodeOfFrame[frameIndex] = -1;
+        if (status[node] == LIR) lirCount--;
+        stack.remove(node);
+        queues.remove(node);
+        nodes.free(node);
+        prune();
+    }
+
+    @Override
+    public String getName() {
+        return "LIRS";
+    }
+
+    // node becomes LIR at the top of S; the LIR page at the bottom of S turns into a resident HIR page.
+    // Callers make sure there is an LIR page, so the pruned bottom of S is one and is not node.
+    private void promote(int node) {
+        status[node] = LIR;
+        stack.addFront(0, node);
+        int bottom = stack.back(0);
+        stack.remove(bottom);
+        status[bottom] = HIR;
+        queues.addFront(Q, bottom);
+        prune();
+    }
+
+    // Pops HIR entries off the bottom of S; ghosts that leave S are forgotten
+    private void prune() {
+        int bottom = stack.back(0);
+        while (bottom >= 0 && status[bottom] != LIR) {
+            stack.remove(bottom);
+            if (status[bottom] == GHOST) {
+                if (bottom == pendingGhost) pendingGhost = -1;
+                queues.remove(bottom);
+                nodes.free(bottom);
+            }
+            bottom = stack.back(0);
+        }
+    }
+
+    private void dropGhost(int node) {
+        if (node < 0) return;
+        stack.remove(node);
+        queues.remove(node);
+        nodes.free(node);
+    }
+}
@@ -0,0 +1,71 @@
+package ro.tuc.virtualmemorysimulator.BusinessLogic;
+
+import ro.tuc.virtualmemorysimulator.Model.Frame;
+
+import java.util.Arrays;
+import java.util.List;
+
+// LRU backed by an intrusive doubly linked list over frame indices.
+// The most recently used frame sits right after the sentinel, the victim right before it.
+public class LinkedLRUAlgorithm implements Algorithm {
+    private int[] prev;
+    private int[] next;
+    private int sentinel;
+
+    public LinkedLRUAlgorithm() {
+        allocate(0);
+    }
+
+    @Override
+    public void reset(int numFrames) {
+        allocate(numFrames);
+    }
+
+    // Sizes the list without going through reset(), which the constructor must not call
+    private void allocate(int numFrames) {
+        prev = new int[numFrames + 1];
+        next = new int[numFrames + 1];
+        Arrays.fill(prev, -1);
+        Arrays.fill(next, -1);
+        sentinel = numFrames;
+        prev[sentinel] = sentinel;
+        next[sentinel] = sentinel;
+    }
+
+    @Override
+    public int replacePage(List<Frame> frames, long[] referenceString, int currentIndex) {
+        int victim = prev[sentinel];
+        return (victim == sentinel) ? 0 : victim;
+    }
+
+    @Override
+    public void onFrameLoaded(int frameIndex, boolean replaced, int currentIndex) {
+        moveToFront(frameIndex);
+    }
+
+    @Override
+    public void onFrameAccessed(int frameIndex, int currentIndex) {
+        moveToFront(frameIndex);
+    }
+
+    private void moveToFront(int frame) {
+        if (frame < 0 || frame >= sentinel) return;
+
+        if (prev[frame] != -1) {
+            // unlink
+            next[prev[frame]] = next[frame];
+            prev[next[frame]] = prev[frame];
+        }
+
+        int first = next[sentinel];
+        prev[frame] = sentinel;
+        next[frame] = first;
+        prev[first] = frame;
+        next[sentinel] = frame;
+    }
+
+    @Override
+    public String getName() {
+        return "LRU";
+    }
+}
@@ -2,80 +2,405 @@ package ro.tuc.virtualmemorysimulator.BusinessLogic;
 
 import ro.tuc.virtualmemorysimulator.Model.*;
 
-import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.function.Supplier;
 
 public class MemoryManager {
 
-    private static final int PAGE_SIZE = 4096; // 4 KB
-    private static final int DIR_BITS = 10; // bits 31..22
-    private static final int TAB_BITS = 10; // bits 21..12
-    private static final int OFF_BITS = 12; // bits 11..0
-    private static final int INDEX_MASK = 0x3FF; // 10 bits = 11_1111_1111
-    private static final int OFFSET_MASK = 0xFFF; // 12 bits
-
-    private static final int NUM_FRAMES = 32;
-
-    private final PageDirectory directory;
-    private final TLB tlb;
+    public static final int DEFAULT_NUM_FRAMES = SimulationConfig.DEFAULT_NUM_FRAMES;
+
+    // Trace index passed to the algorithm for streamed accesses, which have no stored trace
+    public static final int NO_TRACE_INDEX = -1;
+
+    // Pages of process p are keyed (p << ASID_SHIFT) | vpn in the TLB, the frames, the algorithm and the
+    // VPN trace, which acts as the ASID tag; process 0's keys are plain VPNs. VPNs stay below 2^45 (57-bit
+    // addresses, 4 KB pages), so the tag never overlaps them and keys stay positive.
+    public static final int ASID_SHIFT = 48;
+    public static final int MAX_PROCESSES = 1 << (Long.SIZE - 1 - ASID_SHIFT);
+    private static final long VPN_MASK = (1L << ASID_SHIFT) - 1;
+
+    private final SimulationConfig config;
+    private final int numFrames;
+
+    // Address split taken from the config (10 + 10 + 12 by default, as in 32-bit x86 paging)
+    private final long addressMask;
+    private final int offsetBits;
+    private final int tableBits;
+    private final long offsetMask;
+
+    // One address space per process, created on its first access; paging, pageWalkCache and process
+    // belong to the running one
+    private PagingStructure[] spaces = new PagingStructure[1];
+    private PageWalkCache[] walkCaches = new PageWalkCache[1];
+    private ProcessStats[] processStats = new ProcessStats[1];
+    private PagingStructure paging;
+    private PageWalkCache pageWalkCache; // null when disabled
+    private ProcessStats process;
+    private int currentPid = -1;
+    private long asidBits = 0;
+    private final TLBHierarchy tlb;
+    private final boolean asidTagged;
+
+    // Context switches, and (without ASIDs) the TLB flushes they forced and the valid entries flushed
+    private long contextSwitches = 0;
+    private long tlbFlushes = 0;
+    private long flushedTlbEntries = 0;
 
     private final List<Frame> frames;
     private final Algorithm algorithm;
 
-    // Input trace: virtual addresses (example: 12345ABC) (HEXADECIMAL)
-    private List<Integer> addressTrace = new ArrayList<>();
-    private List<Integer> vpnTrace = new ArrayList<>();
-
-    private int totalRequests = 0;
-    private int totalFaults = 0;
-
-    private Integer lastEvictedFrame = null;
-    private Integer lastVictimVpn = null;
-
-    private String lastAccessType = null;
+    // Replacement scope: one partition (and policy instance) per process under local replacement, a single
+    // one spanning every frame under global replacement. Policies see partition-relative frame indices.
+    private final boolean localReplacement;
+    private final Algorithm[] policies;
+    private final int[] partitionStart; // frames of partition p: partitionStart[p] .. partitionStart[p + 1] - 1
+    private final int[] framePartition;
+    private final List<List<Frame>> partitionFrames;
+    private final FreeFrames freeFrames;
+
+    // Input trace: virtual addresses (example: 12345ABC) (HEXADECIMAL), the process of each (null = all 0)
+    // and their page keys
+    private long[] addressTrace = new long[0];
+    private int[] pidTrace = null;
+    private long[] vpnTrace = new long[0];
+
+    private long totalRequests = 0;
+    private long totalFaults = 0;
+    private long tlbHits = 0;
+    private long pageTableHits = 0;
+    private long evictions = 0;
+    private long dirtyWriteBacks = 0;
+    private long pageIns = 0; // faults on pages that were resident before, read back from the backing store
+
+    // Page-walk cost: walks done (TLB misses), paging-structure entries read, walks per depth
+    private long pageWalks = 0;
+    private long walkReferences = 0;
+    private final long[] walkDepthCounts;
+    private int lastWalkDepth = 0;
+    private int lastWalkReferences = 0;
+
+    // Huge pages: a leaf table's whole region mapped by its directory entry (0 threshold = off)
+    private final int hugePageThreshold;
+    private long hugePagePromotions = 0;
+    private long hugePageSplits = 0;
+    private long hugePagePrefetches = 0;
+    private long failedPromotions = 0;
+
+    // Variable resident set: frames ordered by last reference (null in FIXED mode), so pages leave in O(1).
+    // residentPageSum adds the resident count after every access, for the average.
+    private final ResidentSetMode residentSetMode;
+    private final int residentSetWindow;
+    private final NodeLists recency;
+    private int residentPages = 0;
+    private int peakResidentPages = 0;
+    private long residentPageSum = 0;
+    private long releasedPages = 0;
+    private long lastFaultClock = 0;
+
+    // Logical clock: ticks once per access and stamps frames for recency-based policies
+    private long accessClock = 0;
+
+    // Kept primitive (-1 = none) so the access path never boxes; the getters box for the UI
+    private int lastEvictedFrame = -1;
+    private long lastVictimVpn = -1;
+
+    private AccessType lastAccessType = null;
 
     public MemoryManager(Algorithm algorithm) {
+        this(algorithm, SimulationConfig.defaultConfig());
+    }
 
-        //numFrames = NUM_FRAMES;
+    // Global replacement, or local replacement over a single process
+    public MemoryManager(Algorithm algorithm, SimulationConfig config) {
+        this(config, singlePolicy(algorithm, config));
+    }
 
-        this.directory = new PageDirectory();
-        this.tlb = new TLB();
+    // Local replacement needs one policy instance per process; the supplier is called once per partition
+    public MemoryManager(Supplier<Algorithm> algorithmFactory, SimulationConfig config) {
+        this(config, createPolicies(algorithmFactory, config));
+    }
 
-        this.frames = new ArrayList<>(NUM_FRAMES);
-        for (int i = 0; i < NUM_FRAMES; i++) {
+    private MemoryManager(SimulationConfig config, Algorithm[] policies) {
+        this.config = config;
+        this.numFrames = config.getNumFrames();
+        this.addressMask = (config.getAddressBits() == Long.SIZE) ? -1L : (1L << config.getAddressBits()) - 1;
+        this.offsetBits = config.getOffsetBits();
+        this.tableBits = config.getTableBits();
+        this.offsetMask = config.getPageSize() - 1;
+
+        createSpace(0);
+        selectSpace(0);
+        currentPid = -1; // the first access selects its process without counting a context switch
+        this.walkDepthCounts = new long[paging.getLevels() + 1];
+        this.asidTagged = config.isAsidTagged();
+        this.hugePageThreshold = config.getHugePageThreshold();
+        this.tlb = new TLBHierarchy(
+                new TLB(config.getTlbEntries(), config.getTlbWays(), config.getTlbPolicy(), tableBits),
+                (config.getStlbEntries() > 0)
+                        ? new TLB(config.getStlbEntries(), config.getStlbWays(), config.getStlbPolicy(), tableBits)
+                        : null);
+
+        this.residentSetMode = config.getResidentSetMode();
+        this.residentSetWindow = config.getResidentSetWindow();
+        this.recency = (residentSetMode == ResidentSetMode.FIXED) ? null : new NodeLists(numFrames, 1);
+
+        this.frames = new ArrayList<>(numFrames);
+        for (int i = 0; i < numFrames; i++) {
             frames.add(new Frame(i));
         }
 
-        this.algorithm = algorithm;
+        this.localReplacement = config.isLocalReplacement();
+        int partitions = policies.length;
+        if (numFrames < partitions) {
+            throw new IllegalArgumentException("Local replacement over " + partitions + " processes needs at least "
+                    + partitions + " frames: " + numFrames);
+        }
+        this.policies = policies;
+        this.algorithm = policies[0];
+        this.partitionStart = new int[partitions + 1];
+        this.framePartition = new int[numFrames];
+        this.partitionFrames = new ArrayList<>(partitions);
+        // Equal shares; the first numFrames % partitions processes get one frame more
+        for (int p = 0; p < partitions; p++) {
+            int size = numFrames / partitions + ((p < numFrames % partitions) ? 1 : 0);
+            partitionStart[p + 1] = partitionStart[p] + size;
+            Arrays.fill(framePartition, partitionStart[p], partitionStart[p + 1], p);
+            partitionFrames.add(frames.subList(partitionStart[p], partitionStart[p + 1]));
+            policies[p].reset(size);
+        }
+        this.freeFrames = new FreeFrames(partitionStart);
+    }
+
+    private static Algorithm[] singlePolicy(Algorithm algorithm, SimulationConfig config) {
+        if (config.getLocalPartitions() > 1) {
+            throw new IllegalArgumentException("Local replacement over " + config.getLocalPartitions()
+                    + " processes needs one " + algorithm.getName() + " instance per process");
+        }
+        return new Algorithm[] {algorithm};
+    }
+
+    private static Algorithm[] createPolicies(Supplier<Algorithm> algorithmFactory, SimulationConfig config) {
+        Algorithm[] policies = new Algorithm[Math.max(1, config.getLocalPartitions())];
+        for (int p = 0; p < policies.length; p++) {
+            policies[p] = algorithmFactory.get();
+        }
+        return policies;
     }
 
+    // 32-bit addresses from the UI, read as unsigned
     public void setAddressTrace(List<Integer> virtualAddresses) {
-        this.addressTrace = new ArrayList<>(virtualAddresses);
-        this.vpnTrace.clear();
-        for (int va : virtualAddresses) {
-            int vpn = computeVpn(va);
-            vpnTrace.add(vpn);
+        long[] addresses = new long[virtualAddresses.size()];
+        for (int i = 0; i < addresses.length; i++) {
+            addresses[i] = Integer.toUnsignedLong(virtualAddresses.get(i));
+        }
+        setAddressTrace(addresses);
+    }
+
+    // The array is used as-is (not copied), so large headless traces are not duplicated
+    public void setAddressTrace(long[] virtualAddresses) {
+        setAddressTrace(virtualAddresses, null);
+    }
+
+    // Multi-process trace: pids[i] is the process issuing address i (null = all process 0)
+    public void setAddressTrace(long[] virtualAddresses, int[] pids) {
+        setAddressTrace(virtualAddresses, pids, PageTrace.decode(virtualAddresses, pids, config));
+    }
+
+    // Page keys decoded once for several runs (a sweep); the caller must not modify any of the arrays
+    public void setAddressTrace(long[] virtualAddresses, int[] pids, PageTrace pages) {
+        if (pages.size() != virtualAddresses.length || !pages.matches(config)) {
+            throw new IllegalArgumentException("Page trace was not decoded from this trace with this page layout");
+        }
+        if (pids != null && localReplacement) {
+            for (int pid : pids) {
+                checkPid(pid);
+            }
+        }
+        this.addressTrace = virtualAddresses;
+        this.pidTrace = pids;
+        this.vpnTrace = pages.getPageKeys();
+        for (Algorithm policy : policies) {
+            policy.onTraceLoaded(pages);
         }
         resetStatsAndStateForNewRun();
     }
 
     public boolean step(int index, boolean isWrite) {
-        if (index < 0 || index >= addressTrace.size())
+        if (index < 0 || index >= addressTrace.length)
             return false;
-        int va = addressTrace.get(index);
-        processVirtualAddress(va, isWrite, index);
+        long va = addressTrace[index];
+        processVirtualAddress((pidTrace == null) ? 0 : pidTrace[index], va, isWrite, index);
+        endAccess();
         return true;
     }
 
-    public int getTotalRequests() {
+    // Streaming mode: no trace is stored, addresses are fed one by one through access()
+    public void startStream() {
+        this.addressTrace = new long[0];
+        this.pidTrace = null;
+        this.vpnTrace = new long[0];
+        for (Algorithm policy : policies) {
+            policy.onTraceLoaded(vpnTrace);
+        }
+        resetStatsAndStateForNewRun();
+    }
+
+    public void access(long virtualAddress, boolean isWrite) {
+        access(0, virtualAddress, isWrite);
+    }
+
+    public void access(int pid, long virtualAddress, boolean isWrite) {
+        processVirtualAddress(pid, virtualAddress, isWrite, NO_TRACE_INDEX);
+        endAccess();
+    }
+
+    public boolean requiresFullTrace() {
+        return algorithm.requiresFullTrace();
+    }
+
+    // Page key (ASID-tagged VPN) of every trace entry, as computed by setAddressTrace (read-only)
+    public long[] getVpnTrace() {
+        return vpnTrace;
+    }
+
+    public int getTraceLength() {
+        return addressTrace.length;
+    }
+
+    public long getTotalRequests() {
         return totalRequests;
     }
 
-    public int getTotalFaults() {
+    public long getTotalFaults() {
         return totalFaults;
     }
 
+    public long getTlbHits() {
+        return tlbHits;
+    }
+
+    public long getPageTableHits() {
+        return pageTableHits;
+    }
+
+    public long getEvictions() {
+        return evictions;
+    }
+
+    public long getDirtyWriteBacks() {
+        return dirtyWriteBacks;
+    }
+
+    public long getPageIns() {
+        return pageIns;
+    }
+
+    public long getPageWalks() {
+        return pageWalks;
+    }
+
+    public long getWalkReferences() {
+        return walkReferences;
+    }
+
+    // Upper levels served by the page-walk caches instead of memory
+    public long getSkippedWalkLevels() {
+        long skipped = 0;
+        for (PageWalkCache cache : walkCaches) {
+            if (cache != null) skipped += cache.getSkippedLevels();
+        }
+        return skipped;
+    }
+
+    // Page-walk cache of the running process (process 0 before the first access)
+    public PageWalkCache getPageWalkCache() {
+        return pageWalkCache;
+    }
+
+    // Index d = number of walks that stopped after d levels; index 0 counts TLB hits
+    public long[] getWalkDepthCounts() {
+        return walkDepthCounts.clone();
+    }
+
+    // Walk depth and paging-structure reads of the most recent translation (0 for a TLB hit)
+    public int getLastWalkDepth() {
+        return lastWalkDepth;
+    }
+
+    public int getLastWalkReferences() {
+        return lastWalkReferences;
+    }
+
+    // Regions collapsed into huge pages, and huge pages split again because one of their frames was evicted
+    public long getHugePagePromotions() {
+        return hugePagePromotions;
+    }
+
+    public long getHugePageSplits() {
+        return hugePageSplits;
+    }
+
+    // Base pages loaded by promotions rather than by demand faults
+    public long getHugePagePrefetches() {
+        return hugePagePrefetches;
+    }
+
+    // Promotions abandoned because loading the missing pages evicted part of the region
+    public long getFailedPromotions() {
+        return failedPromotions;
+    }
+
+    // Frames in use now, at most, and on average after each access
+    public int getResidentPages() {
+        return residentPages;
+    }
+
+    public int getPeakResidentPages() {
+        return peakResidentPages;
+    }
+
+    public double getAverageResidentPages() {
+        return (totalRequests == 0) ? 0.0 : (double) residentPageSum / totalRequests;
+    }
+
+    // Pages the working-set or PFF policy took out of memory without a replacement
+    public long getReleasedPages() {
+        return releasedPages;
+    }
+
+    // Times the running process changed, and the TLB flushes (with their valid entries) this forced without ASIDs
+    public long getContextSwitches() {
+        return contextSwitches;
+    }
+
+    public long getTlbFlushes() {
+        return tlbFlushes;
+    }
+
+    public long getFlushedTlbEntries() {
+        return flushedTlbEntries;
+    }
+
+    // Snapshot of every process that made an access, by PID
+    public List<ProcessStats> getProcessStats() {
+        List<ProcessStats> stats = new ArrayList<>();
+        for (ProcessStats s : processStats) {
+            if (s != null && s.getRequests() > 0) stats.add(s.snapshot());
+        }
+        return Collections.unmodifiableList(stats);
+    }
+
+    public int getCurrentPid() {
+        return Math.max(currentPid, 0);
+    }
+
+    public long getAccessClock() {
+        return accessClock;
+    }
+
     public double getFaultRate() {
         if (totalRequests == 0) {
             return 0.0;
@@ -89,213 +414,451 @@ public class MemoryManager {
         return frames;
     }
 
+    // The running process's two-level directory, shown by the UI; null for the radix layouts
     public PageDirectory getDirectory() {
-        return directory;
+        return (paging instanceof PageDirectory directory) ? directory : null;
+    }
+
+    public PagingStructure getPagingStructure() {
+        return paging;
     }
 
+    // First-level TLB (the only one unless an STLB is configured)
     public TLB getTlb() {
+        return tlb.getL1();
+    }
+
+    public TLBHierarchy getTlbHierarchy() {
         return tlb;
     }
 
     public Integer getLastEvictedFrame() {
-        return lastEvictedFrame;
+        return (lastEvictedFrame < 0) ? null : lastEvictedFrame;
     }
 
-    public Integer getLastVictimVpn() {
-        return lastVictimVpn;
+    public Long getLastVictimVpn() {
+        return (lastVictimVpn < 0) ? null : lastVictimVpn;
     }
 
     public void clearLastEvictedFrame() {
-        lastEvictedFrame = null;
-        lastVictimVpn = null;
+        lastEvictedFrame = -1;
+        lastVictimVpn = -1;
     }
 
-    private void processVirtualAddress(int virtualAddress, boolean isWrite, int currentIndex) {
+    private void processVirtualAddress(int pid, long virtualAddress, boolean isWrite, int currentIndex) {
+        if (pid != currentPid) {
+            switchTo(pid);
+        }
         totalRequests++;
+        accessClock++;
         lastAccessType = null;
 
-        // We split the address into indices + offset (10 + 10 + 12) as per the Intel architecture
-        int dirIndex = (virtualAddress >>> 22) & INDEX_MASK; // bits 31..22
-        int tableIndex = (virtualAddress >>> 12) & INDEX_MASK; // bits 21..12
-        int offset =  virtualAddress & OFFSET_MASK; // bits 11..0
-        int vpn = (dirIndex << TAB_BITS) | tableIndex;
+        // We split the address into indices + offset (10 + 10 + 12 by default) as per the Intel architecture.
+        // The process's own tables are walked with the VPN; everything shared is keyed by the tagged VPN.
+        long vpn = computeVpn(virtualAddress);
+        long key = asidBits | vpn;
+        int tableIndex = paging.getEntryIndex(vpn);
 
         // Lookup in TLB
-        Integer frameFromTlb = tlb.lookup(vpn);
-        if (frameFromTlb != null) {
+        int frameFromTlb = tlb.lookup(key);
+        if (frameFromTlb != TLB.MISS) {
             // TLB HIT
-            lastAccessType = "TLB_HIT";
-            if (isWrite) {
+            lastAccessType = AccessType.TLB_HIT;
+            tlbHits++;
+            recordWalk(0, 0);
+            if (frameFromTlb == TLB.HUGE_PAGE || isWrite) {
+                PageTable table = paging.getTableFor(vpn);
+                // The frames of a huge page are not contiguous here, so the base frame comes from its PTE
+                if (frameFromTlb == TLB.HUGE_PAGE) frameFromTlb = table.getFrameNumber(tableIndex);
                 // Mark dirty on page-table entry as well
-                int dir = (virtualAddress >>> 22) & INDEX_MASK;
-                int tab = (virtualAddress >>> 12) & INDEX_MASK;
-
-                PageTable table = directory.getTable(dir);
-                Page pte = table.getEntry(tab);
-                if (pte != null) pte.setDirty(true);
+                if (isWrite) table.setDirty(tableIndex, true);
             }
 
-            updateLastUsedPage(frameFromTlb);
+            updateLastUsedPage(frameFromTlb, currentIndex);
+            if (isWrite) policyFor(frameFromTlb).onFrameWritten(localIndex(frameFromTlb));
             return;
         }
 
-        // The page table walk
-        PageTable table = directory.getTable(dirIndex);
-        if (table == null) {
-            table = new PageTable();
-            directory.setTable(dirIndex, table);
+        // The page table walk: one paging-structure read per level, ending early at a missing level.
+        // Upper levels found in the page-walk cache are not read from memory.
+        int skipped = (pageWalkCache != null) ? pageWalkCache.lookup(vpn) : 0;
+        PageTable table = paging.walk(vpn);
+        int depth = paging.getLastWalkDepth();
+        if (pageWalkCache != null) {
+            // Only upper-level entries pointing to a present next level are cached: the last entry read
+            // is the missing one, the PTE, or a huge-page mapping (which the TLB caches instead)
+            pageWalkCache.fill(vpn, depth - 1);
         }
+        recordWalk(depth, paging.getLastWalkReferences() - skipped);
 
-        Page pte = table.getEntry(tableIndex);
-        if (pte == null) {
-            pte = new Page(vpn);
-            table.setEntry(tableIndex, pte);
+        // Tables and entries are allocated on first touch
+        if (table == null) {
+            table = paging.getOrCreateTableFor(vpn);
         }
-
-        if (pte.isValid()) { //Page table hit
-            lastAccessType = "PAGE_TABLE_HIT";
-            int frameNum = pte.getFrameNumber();
-            tlb.update(vpn, frameNum);
-            updateLastUsedPage(frameNum);
+        table.touch(tableIndex);
+
+        if (table.isPresent(tableIndex)) { //Page table hit
+            lastAccessType = AccessType.PAGE_TABLE_HIT;
+            pageTableHits++;
+            table.setAccessed(tableIndex, true);
+            int frameNum = table.getFrameNumber(tableIndex);
+            if (table.isHuge()) {
+                tlb.updateHuge(key);
+            } else {
+                tlb.update(key, frameNum);
+            }
+            updateLastUsedPage(frameNum, currentIndex);
 
         } else { //Page fault
-            lastAccessType = "PAGE_FAULT";
+            lastAccessType = AccessType.PAGE_FAULT;
             //load page (free frame or replacement)
-            handlePageFault(dirIndex, tableIndex, vpn, currentIndex);
+            handlePageFault(table, tableIndex, key, currentIndex);
+            if (shouldPromote(table)) {
+                promoteToHugePage(table, key);
+            }
         }
 
         if (isWrite) {
-            pte.setDirty(true);
+            table.setDirty(tableIndex, true);
+            int frameNum = table.getFrameNumber(tableIndex);
+            if (frameNum >= 0) policyFor(frameNum).onFrameWritten(localIndex(frameNum));
+        }
+    }
+
+    // Makes pid the running process. Without ASIDs the outgoing process's TLB entries would translate the
+    // incoming one's addresses, so the TLB (and the paging-structure cache) is flushed, as a CR3 write does.
+    private void switchTo(int pid) {
+        checkPid(pid);
+        if (currentPid >= 0) {
+            contextSwitches++;
+            if (!asidTagged) {
+                flushedTlbEntries += tlb.getValidEntries();
+                tlb.clear();
+                tlbFlushes++;
+            }
+        }
+        if (pid >= spaces.length || spaces[pid] == null) {
+            createSpace(pid);
         }
+        selectSpace(pid);
+        if (!asidTagged && pageWalkCache != null) {
+            pageWalkCache.clear();
+        }
+    }
+
+    private int checkPid(int pid) {
+        int limit = localReplacement ? policies.length : MAX_PROCESSES;
+        if (pid < 0 || pid >= limit) {
+            throw new IllegalArgumentException("Process id must be between 0 and " + (limit - 1)
+                    + (localReplacement ? " under local replacement" : "") + ": " + pid);
+        }
+        return pid;
+    }
+
+    private void createSpace(int pid) {
+        if (pid >= spaces.length) {
+            int length = Math.max(pid + 1, spaces.length * 2);
+            spaces = Arrays.copyOf(spaces, length);
+            walkCaches = Arrays.copyOf(walkCaches, length);
+            processStats = Arrays.copyOf(processStats, length);
+        }
+        spaces[pid] = config.isRadix()
+                ? new RadixPageTable(config.getLevels())
+                : new PageDirectory(config.getDirectoryEntries(), tableBits);
+        walkCaches[pid] = (config.getPageWalkCacheEntries() > 0)
+                ? new PageWalkCache(spaces[pid], config.getPageWalkCacheEntries(), config.getPageWalkCachePolicy())
+                : null;
+        processStats[pid] = new ProcessStats(pid);
     }
 
-    private void handlePageFault(int dirIndex, int tableIndex, int vpn, int currentIndex) {
+    private void selectSpace(int pid) {
+        currentPid = pid;
+        asidBits = (long) pid << ASID_SHIFT;
+        paging = spaces[pid];
+        pageWalkCache = walkCaches[pid];
+        process = processStats[pid];
+    }
+
+    private void recordWalk(int depth, int references) {
+        lastWalkDepth = depth;
+        lastWalkReferences = references;
+        walkDepthCounts[depth]++;
+        if (depth > 0) {
+            pageWalks++;
+            walkReferences += references;
+        }
+    }
+
+    private void handlePageFault(PageTable table, int tableIndex, long key, int currentIndex) {
         totalFaults++;
-        lastEvictedFrame = null;
-        lastVictimVpn = null;
+        lastEvictedFrame = -1;
+        lastVictimVpn = -1;
+        if (residentSetMode == ResidentSetMode.PAGE_FAULT_FREQUENCY) {
+            // Faults far apart: shrink to the pages used since the previous fault (their use bits are set)
+            if (accessClock - lastFaultClock > residentSetWindow) {
+                releasePagesUnusedSince(lastFaultClock);
+            }
+            lastFaultClock = accessClock;
+        }
+        loadPage(table, tableIndex, key, currentIndex, true);
+    }
 
-        int freeFrameIndex = findFreeFrame();
+    // Free frame if there is one, otherwise the algorithm's victim; both from the process's own
+    // partition under local replacement
+    private void loadPage(PageTable table, int tableIndex, long key, int currentIndex, boolean fillTlb) {
+        int partition = faultPartition();
+        Algorithm policy = policies[partition];
+        if (table.isPagedOut(tableIndex)) pageIns++;
+        policy.onPageFault(key, currentIndex);
+        int freeFrameIndex = freeFrames.allocate(partition);
         if (freeFrameIndex != -1) {
-            loadPageIntoFrame(dirIndex, tableIndex, vpn, freeFrameIndex, false);
+            loadPageIntoFrame(table, tableIndex, key, freeFrameIndex, false, currentIndex, fillTlb);
             return;
         }
 
-        int frameToReplace = algorithm.replacePage(frames, vpnTrace, currentIndex);
+        int frameToReplace = partitionStart[partition]
+                + policy.replacePage(partitionFrames.get(partition), vpnTrace, currentIndex);
         lastEvictedFrame = frameToReplace;
+        evictions++;
 
-        Page victimPage = frames.get(frameToReplace).getCurrentPage();
-        int victimVpn;
-        if (victimPage != null)
-            victimVpn = victimPage.getPageId();
-        else
-            victimVpn = -1;
+        long victimKey = frames.get(frameToReplace).getVpn();
 
-        lastVictimVpn = (victimVpn >= 0) ? victimVpn : null;
+        lastVictimVpn = victimKey;
 
-        invalidateVictimMapping(victimVpn);
+        if (isDirtyMapping(victimKey)) {
+            dirtyWriteBacks++;
+        }
+
+        invalidateVictimMapping(victimKey);
+        int victimPid = pidOf(victimKey);
+        processStats[victimPid].pageEvicted(victimPid != currentPid);
 
         // Load the new page into the chosen frame
-        loadPageIntoFrame(dirIndex, tableIndex, vpn, frameToReplace, true);
+        loadPageIntoFrame(table, tableIndex, key, frameToReplace, true, currentIndex, fillTlb);
     }
 
-    private int findFreeFrame() {
-        for (Frame f : frames) {
-            if (f.getCurrentPage() == null)
-                return f.getFrameId();
-        }
-        return -1;
+    private int faultPartition() {
+        return localReplacement ? currentPid : 0;
+    }
+
+    private Algorithm policyFor(int frameIndex) {
+        return policies[framePartition[frameIndex]];
     }
 
-    private void loadPageIntoFrame(int dirIndex, int tableIndex, int vpn, int frameIndex, boolean evict) {
+    // Frame index as seen by its partition's policy
+    private int localIndex(int frameIndex) {
+        return frameIndex - partitionStart[framePartition[frameIndex]];
+    }
 
-        PageTable table = directory.getTable(dirIndex);
-        if (table == null) {
-            table = new PageTable();
-            directory.setTable(dirIndex, table);
-        }
-        Page page = table.getEntry(tableIndex);
-        if (page == null) {
-            page = new Page(vpn);
-            table.setEntry(tableIndex, page);
+    private static int pidOf(long key) {
+        return (int) (key >>> ASID_SHIFT);
+    }
+
+    // A region is promoted once the configured share of its base pages is resident, provided the whole
+    // huge page fits in physical memory. Counting resident rather than ever-touched pages keeps a region
+    // that was split under memory pressure from being collapsed again straight away.
+    private boolean shouldPromote(PageTable table) {
+        int partition = faultPartition();
+        return hugePageThreshold > 0
+                && !table.isHuge()
+                && table.size() <= partitionStart[partition + 1] - partitionStart[partition]
+                && table.getPresentCount() * 100L >= (long) hugePageThreshold * table.size();
+    }
+
+    // Loads the region's missing base pages and maps the whole table as one huge page, as khugepaged
+    // does when it collapses a range. Prefetched pages carry no trace position, so Optimal treats them
+    // as never used again. If loading them evicts part of the region, the promotion is abandoned.
+    private void promoteToHugePage(PageTable table, long key) {
+        long baseKey = asidBits | table.getBaseVpn();
+        long regionMask = ~(long) (table.size() - 1);
+        for (int i = 0; i < table.size(); i++) {
+            if (table.isPresent(i)) continue;
+            hugePagePrefetches++;
+            lastVictimVpn = -1;
+            loadPage(table, i, baseKey | i, NO_TRACE_INDEX, false);
+            if (lastVictimVpn >= 0 && (lastVictimVpn & regionMask) == baseKey) {
+                failedPromotions++;
+                return;
+            }
         }
-        page.setValid(true);
-        page.setFrameNumber(frameIndex);
-        page.setLastUsedTime(LocalDateTime.now());
+        table.setHuge(true);
+        hugePagePromotions++;
+        // The directory entry changed from a table pointer to a page mapping
+        if (pageWalkCache != null) pageWalkCache.invalidate(key & VPN_MASK);
+        tlb.updateHuge(key);
+    }
 
-        Frame frame = frames.get(frameIndex);
-        frame.setCurrentPage(page);
+    private void loadPageIntoFrame(PageTable table, int tableIndex, long key, int frameIndex, boolean evict,
+                                   int currentIndex, boolean fillTlb) {
 
-        tlb.update(vpn, frameIndex);
+        table.map(tableIndex, frameIndex);
 
-        if (!evict && algorithm instanceof FIFOAlgorithm) {
-            ((FIFOAlgorithm) algorithm).addFrame(frameIndex);
+        Frame frame = frames.get(frameIndex);
+        frame.setVpn(key);
+        frame.setLastAccess(accessClock);
+        if (!evict) residentPages++;
+        process.pageLoaded();
+        if (recency != null) recency.addFront(0, frameIndex);
+
+        if (fillTlb) {
+            tlb.update(key, frameIndex);
         }
+
+        policyFor(frameIndex).onFrameLoaded(localIndex(frameIndex), evict, currentIndex);
+    }
+
+    // The victim may belong to another process, so its mapping is looked up in its own address space
+    private boolean isDirtyMapping(long key) {
+        if (key < 0) return false;
+        PagingStructure space = spaces[pidOf(key)];
+        long vpn = key & VPN_MASK;
+        PageTable table = space.getTableFor(vpn);
+        return table != null && table.isDirty(space.getEntryIndex(vpn));
     }
 
-    private void invalidateVictimMapping(int victimVpn) {
-        if (victimVpn < 0) return;
-        int victimDir = (victimVpn >>> TAB_BITS) & INDEX_MASK;
-        int victimIdx = victimVpn & INDEX_MASK;
+    private void invalidateVictimMapping(long victimKey) {
+        if (victimKey < 0) return;
 
-        PageTable vt = directory.getTable(victimDir);
+        PagingStructure space = spaces[pidOf(victimKey)];
+        long victimVpn = victimKey & VPN_MASK;
+        PageTable vt = space.getTableFor(victimVpn);
         if (vt != null) {
-            Page vPage = vt.getEntry(victimIdx);
-            if (vPage != null) {
-                vPage.setValid(false);
-                vPage.setFrameNumber(-1);
+            vt.unmap(space.getEntryIndex(victimVpn));
+            // Evicting one base page splits its huge page back into a table of base mappings
+            if (vt.isHuge()) {
+                vt.setHuge(false);
+                hugePageSplits++;
+                tlb.removeHuge(victimKey);
             }
         }
-        tlb.remove(victimVpn);
+        tlb.remove(victimKey);
     }
 
-    private void updateLastUsedPage(int frameNum) {
+    private void endAccess() {
+        if (residentSetMode == ResidentSetMode.WORKING_SET) {
+            // W(t, tau): the pages referenced in the last tau accesses, this one included
+            releasePagesUnusedSince(accessClock - residentSetWindow + 1);
+        }
+        residentPageSum += residentPages;
+        if (residentPages > peakResidentPages) peakResidentPages = residentPages;
+        process.recordAccess(lastAccessType == AccessType.PAGE_FAULT, lastAccessType == AccessType.TLB_HIT);
+    }
+
+    // Releases resident pages whose last reference is older than clock, least recent first
+    private void releasePagesUnusedSince(long clock) {
+        int frameIndex = recency.back(0);
+        while (frameIndex >= 0 && frames.get(frameIndex).getLastAccess() < clock) {
+            releaseFrame(frameIndex);
+            frameIndex = recency.back(0);
+        }
+    }
+
+    // Like an eviction (a dirty page is written back), but the frame stays free
+    private void releaseFrame(int frameIndex) {
+        Frame frame = frames.get(frameIndex);
+        long key = frame.getVpn();
+        if (isDirtyMapping(key)) {
+            dirtyWriteBacks++;
+        }
+        invalidateVictimMapping(key);
+        frame.clear();
+        recency.remove(frameIndex);
+        residentPages--;
+        releasedPages++;
+        processStats[pidOf(key)].pageReleased();
+        freeFrames.free(framePartition[frameIndex], frameIndex);
+        policyFor(frameIndex).onFrameFreed(localIndex(frameIndex));
+    }
+
+    private void updateLastUsedPage(int frameNum, int currentIndex) {
         Frame f = frames.get(frameNum);
-        if (f.getCurrentPage() != null) {
-            f.getCurrentPage().setLastUsedTime(LocalDateTime.now());
+        if (!f.isFree()) {
+            f.setLastAccess(accessClock);
+            if (recency != null) recency.addFront(0, frameNum);
+            policyFor(frameNum).onFrameAccessed(localIndex(frameNum), currentIndex);
         }
     }
 
-    private int computeVpn(int virtualAddress) {
-        int dirIndex = (virtualAddress >>> 22) & INDEX_MASK;
-        int tableIndex = (virtualAddress >>> 12) & INDEX_MASK;
-        return (dirIndex << TAB_BITS) | tableIndex;
+    // VPN = (dirIndex << tableBits) | tableIndex, i.e. the address bits above the offset.
+    // Addresses outside the configured width are rejected; the x86-64 sign extension of canonical ones
+    // does not take part in translation.
+    private long computeVpn(long virtualAddress) {
+        config.checkAddress(virtualAddress);
+        return (virtualAddress & addressMask) >>> offsetBits;
     }
 
-    public int computeVpnPublic(int virtualAddress) {
+    public long computeVpnPublic(long virtualAddress) {
         return computeVpn(virtualAddress);
     }
 
-    public int getDirectoryIndex(int virtualAddress) {
-        return (virtualAddress >>> 22) & 0x3FF;
+    // Index into the upper levels (the page directory in the 32-bit layout)
+    public long getDirectoryIndex(long virtualAddress) {
+        return computeVpn(virtualAddress) >>> tableBits;
     }
 
-    public int getTableIndex(int virtualAddress) {
-        return (virtualAddress >>> 12) & 0x3FF;
+    public int getTableIndex(long virtualAddress) {
+        return paging.getEntryIndex(computeVpn(virtualAddress));
     }
 
-    public int getOffset(int virtualAddress) {
-        return virtualAddress & 0xFFF;
+    public int getOffset(long virtualAddress) {
+        return (int) (virtualAddress & offsetMask);
     }
 
     private void resetStatsAndStateForNewRun() {
         totalRequests = 0;
         totalFaults = 0;
+        tlbHits = 0;
+        pageTableHits = 0;
+        evictions = 0;
+        dirtyWriteBacks = 0;
+        pageIns = 0;
+        pageWalks = 0;
+        walkReferences = 0;
+        Arrays.fill(walkDepthCounts, 0);
+        lastWalkDepth = 0;
+        lastWalkReferences = 0;
+        hugePagePromotions = 0;
+        hugePageSplits = 0;
+        hugePagePrefetches = 0;
+        failedPromotions = 0;
+        accessClock = 0;
+        residentPages = 0;
+        peakResidentPages = 0;
+        residentPageSum = 0;
+        releasedPages = 0;
+        lastFaultClock = 0;
+        contextSwitches = 0;
+        tlbFlushes = 0;
+        flushedTlbEntries = 0;
+        if (recency != null) recency.clear();
         tlb.clear();
+        tlb.resetStats();
 
-        lastEvictedFrame = null;
-        lastVictimVpn = null;
+        lastEvictedFrame = -1;
+        lastVictimVpn = -1;
         lastAccessType = null;
 
         for (Frame f : frames) {
-            f.setCurrentPage(null);
+            f.clear();
+        }
+        freeFrames.reset();
+        for (int p = 0; p < policies.length; p++) {
+            policies[p].reset(partitionStart[p + 1] - partitionStart[p]);
         }
 
-        for (int i = 0; i < 1024; i++) {
-            PageTable t = directory.getTable(i);
-            if (t != null) {
-                t.reset();
-            }
+        // Process 0's space is kept for the UI, the others are recreated on their first access.
+        // Only the page tables touched by the previous run exist, so only those are dropped.
+        spaces = Arrays.copyOf(spaces, 1);
+        walkCaches = Arrays.copyOf(walkCaches, 1);
+        processStats = Arrays.copyOf(processStats, 1);
+        spaces[0].clear();
+        if (walkCaches[0] != null) {
+            walkCaches[0].clear();
+            walkCaches[0].resetStats();
         }
+        processStats[0] = new ProcessStats(0);
+        selectSpace(0);
+        currentPid = -1;
     }
 
     public String getAlgorithmName() {
@@ -303,10 +866,14 @@ public class MemoryManager {
     }
 
     public int getNumFrames() {
-        return NUM_FRAMES;
+        return numFrames;
+    }
+
+    public SimulationConfig getConfig() {
+        return config;
     }
 
-    public String getLastAccessType() {
+    public AccessType getLastAccessType() {
         return lastAccessType;
     }
 
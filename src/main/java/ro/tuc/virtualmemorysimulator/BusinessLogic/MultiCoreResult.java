@@ -0,0 +1,133 @@
+package ro.tuc.virtualmemorysimulator.BusinessLogic;
+
+import java.util.List;
+
+// Outcome of a MultiCoreSimulator run: the per-core counters and their totals
+public class MultiCoreResult {
+    private final int cores;
+    private final int numFrames;
+    private final int tlbEntries;
+    private final List<CoreStats> coreStats;
+    private final long elapsedNanos;
+
+    private final long requests;
+    private final long tlbHits;
+    private final long faults;
+    private final long evictions;
+    private final long dirtyWriteBacks;
+    private final long contendedLocks;
+    private final long shootdowns;
+    private final long interrupts;
+    private final long shootdownNanos;
+    private final long maxShootdownNanos;
+
+    public MultiCoreResult(int cores, int numFrames, int tlbEntries, List<CoreStats> coreStats, long elapsedNanos) {
+        this.cores = cores;
+        this.numFrames = numFrames;
+        this.tlbEntries = tlbEntries;
+        this.coreStats = List.copyOf(coreStats);
+        this.elapsedNanos = elapsedNanos;
+
+        long requests = 0, tlbHits = 0, faults = 0, evictions = 0, dirtyWriteBacks = 0, contendedLocks = 0;
+        long shootdowns = 0, interrupts = 0, shootdownNanos = 0, maxShootdownNanos = 0;
+        for (CoreStats c : coreStats) {
+            requests += c.getRequests();
+            tlbHits += c.getTlbHits();
+            faults += c.getFaults();
+            evictions += c.getEvictions();
+            dirtyWriteBacks += c.getDirtyWriteBacks();
+            contendedLocks += c.getContendedLocks();
+            shootdowns += c.getShootdowns();
+            interrupts += c.getInterrupts();
+            shootdownNanos += c.getShootdownNanos();
+            maxShootdownNanos = Math.max(maxShootdownNanos, c.getMaxShootdownNanos());
+        }
+        this.requests = requests;
+        this.tlbHits = tlbHits;
+        this.faults = faults;
+        this.evictions = evictions;
+        this.dirtyWriteBacks = dirtyWriteBacks;
+        this.contendedLocks = contendedLocks;
+        this.shootdowns = shootdowns;
+        this.interrupts = interrupts;
+        this.shootdownNanos = shootdownNanos;
+        this.maxShootdownNanos = maxShootdownNanos;
+    }
+
+    public int getCores() {
+        return cores;
+    }
+
+    public int getNumFrames() {
+        return numFrames;
+    }
+
+    public int getTlbEntries() {
+        return tlbEntries;
+    }
+
+    public List<CoreStats> getCoreStats() {
+        return coreStats;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public long getRequests() {
+        return requests;
+    }
+
+    public long getTlbHits() {
+        return tlbHits;
+    }
+
+    public long getFaults() {
+        return faults;
+    }
+
+    public long getEvictions() {
+        return evictions;
+    }
+
+    public long getDirtyWriteBacks() {
+        return dirtyWriteBacks;
+    }
+
+    public long getContendedLocks() {
+        return contendedLocks;
+    }
+
+    public long getShootdowns() {
+        return shootdowns;
+    }
+
+    public long getInterrupts() {
+        return interrupts;
+    }
+
+    // Host time an evicting core spent waiting for the other cores to invalidate the victim
+    public double getAverageShootdownNanos() {
+        return (shootdowns == 0) ? 0.0 : (double) shootdownNanos / shootdowns;
+    }
+
+    public long getMaxShootdownNanos() {
+        return maxShootdownNanos;
+    }
+
+    public double getFaultRate() {
+        return percentOfRequests(faults);
+    }
+
+    public double getTlbHitRate() {
+        return percentOfRequests(tlbHits);
+    }
+
+    public double getAccessesPerSecond() {
+        return (elapsedNanos == 0) ? 0.0 : requests * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    private double percentOfRequests(long count) {
+        return (requests == 0) ? 0.0 : (count * 100.0) / requests;
+    }
+}
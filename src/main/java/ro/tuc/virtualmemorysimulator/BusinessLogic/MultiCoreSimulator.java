@@ -0,0 +1,328 @@
+package ro.tuc.virtualmemorysimulator.BusinessLogic;
+
+import ro.tuc.virtualmemorysimulator.Model.AddressTrace;
+import ro.tuc.virtualmemorysimulator.Model.TLB;
+import ro.tuc.virtualmemorysimulator.Model.TLBHierarchy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Replays a trace from several simulated cores at once, each on its own thread with a private TLB,
+// against one shared address space: the threads of a single multi-threaded process.
+// The page table is a StripedPageMap; frames come from a lock-free bump pointer until memory is full and
+// then from a shared Clock whose hand and per-frame bits are atomics, since the Algorithm implementations
+// are single-threaded. Evicting a page sends a TLB shootdown to every other core and waits until all of
+// them have invalidated it; cores serve shootdowns between accesses, like an IPI at an instruction boundary.
+// Only the frame count and the TLB / STLB geometry of the config are used.
+public class MultiCoreSimulator {
+
+    // Consecutive records one core replays before the next core's turn, for traces without PIDs
+    public static final int QUANTUM = 1024;
+    private static final int STRIPES_PER_CORE = 16;
+    // Busy-wait iterations before a waiting core yields its host thread (matters with more cores than CPUs)
+    private static final int SPINS_BEFORE_YIELD = 64;
+
+    // Frame owner besides a resident VPN: never used yet, or claimed by a core that is replacing it
+    private static final long FREE = -1L;
+    private static final long BUSY = -2L;
+
+    private final SimulationConfig config;
+    private final int cores;
+    private final int numFrames;
+    private final long addressMask;
+    private final int offsetBits;
+
+    // Shared state of the current run
+    private StripedPageMap pageMap;
+    private AtomicLongArray frameOwners;
+    private AtomicIntegerArray referenced;
+    private AtomicIntegerArray dirty;
+    private final AtomicInteger nextUnusedFrame = new AtomicInteger();
+    private final AtomicLong clockHand = new AtomicLong();
+    private final AtomicInteger runningCores = new AtomicInteger();
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+    private Core[] coreStates;
+
+    public MultiCoreSimulator(SimulationConfig config, int cores) {
+        if (cores < 1) {
+            throw new IllegalArgumentException("Core count must be at least 1: " + cores);
+        }
+        // Every core may hold one frame while it replaces it, so at least one more must stay in the Clock
+        if (config.getNumFrames() <= cores) {
+            throw new IllegalArgumentException("A run on " + cores + " cores needs more than " + cores
+                    + " frames: " + config.getNumFrames());
+        }
+        this.config = config;
+        this.cores = cores;
+        this.numFrames = config.getNumFrames();
+        this.addressMask = (config.getAddressBits() == Long.SIZE) ? -1L : (1L << config.getAddressBits()) - 1;
+        this.offsetBits = config.getOffsetBits();
+    }
+
+    // Records go to core pid % cores when the trace has PIDs (read as thread ids), otherwise round-robin
+    // in blocks of QUANTUM
+    public MultiCoreResult run(AddressTrace trace) {
+        int[] counts = new int[cores];
+        for (int i = 0; i < trace.size(); i++) {
+            config.checkAddress(trace.getAddress(i));
+            counts[coreOf(trace, i)]++;
+        }
+        long[][] addresses = new long[cores][];
+        boolean[][] writes = new boolean[cores][];
+        for (int c = 0; c < cores; c++) {
+            addresses[c] = new long[counts[c]];
+            writes[c] = new boolean[counts[c]];
+            counts[c] = 0;
+        }
+        for (int i = 0; i < trace.size(); i++) {
+            int c = coreOf(trace, i);
+            addresses[c][counts[c]] = trace.getAddress(i);
+            writes[c][counts[c]++] = trace.isWrite(i);
+        }
+
+        pageMap = new StripedPageMap(Integer.highestOneBit(Math.max(64, cores * STRIPES_PER_CORE) - 1) << 1);
+        frameOwners = new AtomicLongArray(numFrames);
+        for (int f = 0; f < numFrames; f++) {
+            frameOwners.set(f, FREE);
+        }
+        referenced = new AtomicIntegerArray(numFrames);
+        dirty = new AtomicIntegerArray(numFrames);
+        nextUnusedFrame.set(0);
+        clockHand.set(0);
+        runningCores.set(cores);
+        failure.set(null);
+        coreStates = new Core[cores];
+        for (int c = 0; c < cores; c++) {
+            coreStates[c] = new Core(c);
+        }
+
+        Thread[] threads = new Thread[cores];
+        for (int c = 0; c < cores; c++) {
+            Core core = coreStates[c];
+            long[] coreAddresses = addresses[c];
+            boolean[] coreWrites = writes[c];
+            threads[c] = new Thread(() -> core.replay(coreAddresses, coreWrites), "core-" + c);
+        }
+
+        long start = System.nanoTime();
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        try {
+            for (Thread thread : threads) {
+                thread.join();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failure.compareAndSet(null, e);
+            throw new IllegalStateException("Multi-core run interrupted", e);
+        }
+        long elapsedNanos = System.nanoTime() - start;
+
+        Throwable cause = failure.get();
+        if (cause != null) {
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Multi-core run failed", cause);
+        }
+
+        List<CoreStats> stats = new ArrayList<>(cores);
+        for (Core core : coreStates) {
+            stats.add(core.stats);
+        }
+        return new MultiCoreResult(cores, numFrames, config.getTlbEntries(), stats, elapsedNanos);
+    }
+
+    public int getCores() {
+        return cores;
+    }
+
+    private int coreOf(AddressTrace trace, int index) {
+        return (trace.getPids() != null) ? trace.getPid(index) % cores : (index / QUANTUM) % cores;
+    }
+
+    private final class Core {
+        private final int id;
+        private final TLBHierarchy tlb;
+        private final CoreStats stats;
+
+        // Shootdown requests from other cores; an initiator waits for its acknowledgements, so at most
+        // one request per other core is ever queued. Guarded by this; pendingRequests is read without the lock.
+        private final long[] inboxVpns;
+        private final int[] inboxSenders;
+        private int inboxSize = 0;
+        private volatile int pendingRequests = 0;
+        private final AtomicInteger pendingAcks = new AtomicInteger();
+
+        Core(int id) {
+            this.id = id;
+            this.stats = new CoreStats(id);
+            this.tlb = new TLBHierarchy(
+                    new TLB(config.getTlbEntries(), config.getTlbWays(), config.getTlbPolicy()),
+                    (config.getStlbEntries() > 0)
+                            ? new TLB(config.getStlbEntries(), config.getStlbWays(), config.getStlbPolicy())
+                            : null);
+            this.inboxVpns = new long[cores];
+            this.inboxSenders = new int[cores];
+        }
+
+        void replay(long[] addresses, boolean[] writes) {
+            try {
+                for (int i = 0; i < addresses.length; i++) {
+                    serveShootdowns();
+                    access(addresses[i], writes[i]);
+                }
+            } catch (Throwable t) {
+                failure.compareAndSet(null, t);
+            } finally {
+                runningCores.decrementAndGet();
+                // A finished core keeps answering shootdowns, or an evicting core would wait for it forever
+                while (runningCores.get() > 0 && failure.get() == null) {
+                    serveShootdowns();
+                    Thread.yield();
+                }
+            }
+        }
+
+        private void access(long virtualAddress, boolean isWrite) {
+            stats.requests++;
+            long vpn = (virtualAddress & addressMask) >>> offsetBits;
+            int frame = tlb.lookup(vpn);
+            if (frame == TLB.MISS) {
+                stats.pageWalks++;
+                frame = translate(vpn);
+                tlb.update(vpn, frame);
+            } else {
+                stats.tlbHits++;
+            }
+            // Checked first so that hot frames are not written (and their cache lines bounced) on every access
+            if (referenced.get(frame) == 0) referenced.set(frame, 1);
+            if (isWrite && dirty.get(frame) == 0) dirty.set(frame, 1);
+        }
+
+        // Page walk: the mapping, or a fault that loads the page
+        private int translate(long vpn) {
+            ReentrantLock lock = pageMap.lockFor(vpn);
+            acquire(lock);
+            try {
+                int frame = pageMap.get(vpn);
+                if (frame >= 0) {
+                    return frame;
+                }
+                stats.faults++;
+                frame = allocateFrame();
+                pageMap.put(vpn, frame);
+                frameOwners.set(frame, vpn);
+                return frame;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        // Spins rather than blocks, so a core waiting for a lock still answers the shootdowns of the core holding it
+        private void acquire(ReentrantLock lock) {
+            if (lock.tryLock()) return;
+            stats.contendedLocks++;
+            for (int spins = 0; !lock.tryLock(); spins++) {
+                serveShootdowns();
+                checkFailure();
+                backOff(spins);
+            }
+        }
+
+        private int allocateFrame() {
+            if (nextUnusedFrame.get() < numFrames) {
+                int frame = nextUnusedFrame.getAndIncrement();
+                if (frame < numFrames) return frame;
+            }
+            while (true) {
+                serveShootdowns();
+                int frame = (int) (clockHand.getAndIncrement() % numFrames);
+                long victim = frameOwners.get(frame);
+                if (victim < 0) continue;
+                if (referenced.get(frame) != 0) {
+                    referenced.set(frame, 0);
+                    continue;
+                }
+                if (!frameOwners.compareAndSet(frame, victim, BUSY)) continue;
+                // The victim's stripe may be held by a core that is itself waiting on us: skip it then
+                ReentrantLock victimLock = pageMap.lockFor(victim);
+                if (!victimLock.tryLock()) {
+                    frameOwners.set(frame, victim);
+                    continue;
+                }
+                try {
+                    pageMap.remove(victim);
+                } finally {
+                    victimLock.unlock();
+                }
+                tlb.remove(victim);
+                shootdown(victim);
+                stats.evictions++;
+                // Read only after the shootdown: until then another core may still be writing through a stale entry
+                if (dirty.getAndSet(frame, 0) != 0) stats.dirtyWriteBacks++;
+                return frame;
+            }
+        }
+
+        private void shootdown(long vpn) {
+            if (cores == 1) return;
+            long start = System.nanoTime();
+            pendingAcks.set(cores - 1);
+            for (Core other : coreStates) {
+                if (other != this) other.post(vpn, id);
+            }
+            for (int spins = 0; pendingAcks.get() > 0; spins++) {
+                serveShootdowns();
+                checkFailure();
+                backOff(spins);
+            }
+            long nanos = System.nanoTime() - start;
+            stats.shootdowns++;
+            stats.interrupts += cores - 1;
+            stats.shootdownNanos += nanos;
+            if (nanos > stats.maxShootdownNanos) stats.maxShootdownNanos = nanos;
+        }
+
+        private synchronized void post(long vpn, int sender) {
+            inboxVpns[inboxSize] = vpn;
+            inboxSenders[inboxSize] = sender;
+            inboxSize++;
+            pendingRequests = inboxSize;
+        }
+
+        private void serveShootdowns() {
+            if (pendingRequests == 0) return;
+            synchronized (this) {
+                for (int i = 0; i < inboxSize; i++) {
+                    tlb.remove(inboxVpns[i]);
+                    stats.invalidations++;
+                    coreStates[inboxSenders[i]].pendingAcks.decrementAndGet();
+                }
+                inboxSize = 0;
+                pendingRequests = 0;
+            }
+        }
+
+        private void backOff(int spins) {
+            if (spins < SPINS_BEFORE_YIELD) {
+                Thread.onSpinWait();
+            } else {
+                Thread.yield();
+            }
+        }
+
+        private void checkFailure() {
+            if (failure.get() != null) {
+                throw new IllegalStateException("Another core failed");
+            }
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package ro.tuc.virtualmemorysimulator.BusinessLogic;
+
+import java.util.Arrays;
+
+// Intrusive doubly linked lists over node indices 0..capacity-1, threaded through shared int arrays.
+// Each node is on at most one list of an instance; the front is the newest entry, the back the oldest.
+final class NodeLists {
+
+    private final int capacity;
+    private final int[] prev; // capacity + lists; the sentinel of list l is at capacity + l
+    private final int[] next;
+    private final int[] owner; // list of each node, or -1
+    private final int[] sizes;
+
+    NodeLists(int capacity, int lists) {
+        this.capacity = capacity;
+        prev = new int[capacity + lists];
+        next = new int[capacity + lists];
+        owner = new int[capacity];
+        sizes = new int[lists];
+        clear();
+    }
+
+    void clear() {
+        Arrays.fill(owner, -1);
+        Arrays.fill(sizes, 0);
+        for (int l = 0; l < sizes.length; l++) {
+            prev[capacity + l] = capacity + l;
+            next[capacity + l] = capacity + l;
+        }
+    }
+
+    // Moves node to the front of list (unlinking it from wherever it was)
+    void addFront(int list, int node) {
+        remove(node);
+        int sentinel = capacity + list;
+        int first = next[sentinel];
+        prev[node] = sentinel;
+        next[node] = first;
+        prev[first] = node;
+        next[sentinel] = node;
+        owner[node] = list;
+        sizes[list]++;
+    }
+
+    void remove(int node) {
+        int list = owner[node];
+        if (list < 0) return;
+        next[prev[node]] = next[node];
+        prev[next[node]] = prev[node];
+        owner[node] = -1;
+        sizes[list]--;
+    }
+
+    // Oldest node of list, or -1 if it is empty
+    int back(int list) {
+        int node = prev[capacity + list];
+        return (node >= capacity) ? -1 : node;
+    }
+
+    int size(int list) {
+        return sizes[list];
+    }
+
+    // List the node is on, or -1
+    int listOf(int node) {
+        return owner[node];
+    }
+}
@@ -2,40 +2,141 @@ package ro.tuc.virtualmemorysimulator.BusinessLogic;
 
 import ro.tuc.virtualmemorysimulator.Model.Frame;
 
+import java.util.Arrays;
 import java.util.List;
 
 public class OptimalAlgorithm implements Algorithm{
 
+    private static final int NEVER = Integer.MAX_VALUE;
+
+    // nextUse[i] = index of the next reference to the same VPN as position i, or NEVER
+    private int[] nextUse = new int[0];
+
+    // Indexed max-heap of resident frames keyed by the next use of the page they hold
+    private int[] heap = new int[0];
+    private int[] heapPos = new int[0];
+    private int[] key = new int[0];
+    private int heapSize = 0;
+
     @Override
-    public int replacePage(List<Frame> frames, List<Integer> referenceString, int currentIndex) {
-        int farthestIndex = currentIndex;
-        int frameToReplace = 0;
-
-        for (int i = 0; i < frames.size(); i++) {
-            Frame frame = frames.get(i);
-            int pageId = frame.getCurrentPage().getPageId();
-            boolean foundLater = false;
-
-            for (int j = currentIndex + 1; j < referenceString.size(); j++) {
-                if (referenceString.get(j) == pageId) {
-                    foundLater = true;
-                    if (j > farthestIndex) {
-                        farthestIndex = j;
-                        frameToReplace = i;
-                    }
-                    break;
-                }
-            }
-
-            if (!foundLater) {
-                return i;
-            }
-        }
-        return frameToReplace;
+    public void onTraceLoaded(long[] vpnTrace) {
+        nextUse = buildNextUse(vpnTrace);
+    }
+
+    // Runs sharing the trace share its next-use indices too
+    @Override
+    public void onTraceLoaded(PageTrace trace) {
+        nextUse = trace.getNextUse();
+    }
+
+    @Override
+    public void reset(int numFrames) {
+        heap = new int[numFrames];
+        heapPos = new int[numFrames];
+        key = new int[numFrames];
+        Arrays.fill(heapPos, -1);
+        heapSize = 0;
+    }
+
+    @Override
+    public int replacePage(List<Frame> frames, long[] referenceString, int currentIndex) {
+        return (heapSize == 0) ? 0 : heap[0];
+    }
+
+    @Override
+    public void onFrameLoaded(int frameIndex, boolean replaced, int currentIndex) {
+        updateKey(frameIndex, nextUseAt(currentIndex));
+    }
+
+    @Override
+    public void onFrameAccessed(int frameIndex, int currentIndex) {
+        updateKey(frameIndex, nextUseAt(currentIndex));
     }
 
     @Override
     public String getName() {
         return "Optimal";
     }
+
+    @Override
+    public boolean requiresFullTrace() {
+        return true;
+    }
+
+    // One backward pass: remember where each VPN is seen next
+    static int[] buildNextUse(long[] vpnTrace) {
+        int[] pageIds = ReferenceStrings.toDenseIds(vpnTrace);
+        int maxId = -1;
+        for (int id : pageIds) {
+            maxId = Math.max(maxId, id);
+        }
+
+        int[] lastSeen = new int[maxId + 1];
+        Arrays.fill(lastSeen, NEVER);
+
+        // pageIds is reused for the result: position i is read before it is overwritten
+        int[] result = pageIds;
+        for (int i = vpnTrace.length - 1; i >= 0; i--) {
+            int id = pageIds[i];
+            result[i] = lastSeen[id];
+            lastSeen[id] = i;
+        }
+        return result;
+    }
+
+    private int nextUseAt(int currentIndex) {
+        if (currentIndex < 0 || currentIndex >= nextUse.length) return NEVER;
+        return nextUse[currentIndex];
+    }
+
+    private void updateKey(int frame, int newKey) {
+        if (frame < 0 || frame >= heapPos.length) return;
+
+        key[frame] = newKey;
+        int pos = heapPos[frame];
+        if (pos == -1) {
+            pos = heapSize++;
+            heap[pos] = frame;
+            heapPos[frame] = pos;
+        }
+        siftUp(pos);
+        siftDown(heapPos[frame]);
+    }
+
+    // Farther next use wins; among pages never used again the lowest frame index wins
+    private boolean ranksAbove(int a, int b) {
+        if (key[a] != key[b]) return key[a] > key[b];
+        return a < b;
+    }
+
+    private void siftUp(int pos) {
+        while (pos > 0) {
+            int parent = (pos - 1) / 2;
+            if (!ranksAbove(heap[pos], heap[parent])) break;
+            swap(pos, parent);
+            pos = parent;
+        }
+    }
+
+    private void siftDown(int pos) {
+        while (true) {
+            int left = 2 * pos + 1;
+            int right = left + 1;
+            int best = pos;
+            if (left < heapSize && ranksAbove(heap[left], heap[best])) best = left;
+            if (right < heapSize && ranksAbove(heap[right], heap[best])) best = right;
+            if (best == pos) break;
+            swap(pos, best);
+            pos = best;
+        }
+    }
+
+    private void swap(int i, int j) {
+        int a = heap[i];
+        int b = heap[j];
+        heap[i] = b;
+        heap[j] = a;
+        heapPos[b] = i;
+        heapPos[a] = j;
+    }
 }
@@ -0,0 +1,95 @@
+package ro.tuc.virtualmemorysimulator.BusinessLogic;
+
+import java.util.Arrays;
+
+// Fixed pool of page nodes indexed by VPN, for policies that also remember evicted pages (ghost entries).
+// The index is open addressing with linear probing and backward-shift deletion over primitive arrays,
+// so finding, adding and freeing a node is O(1) and never allocates.
+final class PageNodes {
+
+    private static final long EMPTY = -1L;
+
+    private final long[] vpns;
+    private final int[] frames; // -1 for ghost entries
+    private final int[] freeNodes;
+    private int freeCount;
+
+    private final long[] keys;
+    private final int[] values;
+    private final int mask;
+
+    PageNodes(int capacity) {
+        vpns = new long[capacity];
+        frames = new int[capacity];
+        freeNodes = new int[capacity];
+        // Load factor at most 1/2
+        int slots = Integer.highestOneBit(Math.max(2, capacity) * 2 - 1) * 2;
+        keys = new long[slots];
+        values = new int[slots];
+        mask = slots - 1;
+        clear();
+    }
+
+    void clear() {
+        Arrays.fill(keys, EMPTY);
+        for (int i = 0; i < freeNodes.length; i++) {
+            freeNodes[i] = freeNodes.length - 1 - i;
+        }
+        freeCount = freeNodes.length;
+    }
+
+    // Node holding vpn, or -1
+    int find(long vpn) {
+        int slot = slotOf(vpn);
+        return (keys[slot] == EMPTY) ? -1 : values[slot];
+    }
+
+    // Callers keep the number of live nodes within the capacity
+    int add(long vpn) {
+        int node = freeNodes[--freeCount];
+        vpns[node] = vpn;
+        frames[node] = -1;
+        int slot = slotOf(vpn);
+        keys[slot] = vpn;
+        values[slot] = node;
+        return node;
+    }
+
+    void free(int node) {
+        int slot = slotOf(vpns[node]);
+        keys[slot] = EMPTY;
+        // Backward shift: move later entries of the probe run into the hole so lookups never stop early
+        int next = (slot + 1) & mask;
+        while (keys[next] != EMPTY) {
+            int home = (int) (ReferenceStrings.mix(keys[next]) & mask);
+            if (((next - home) & mask) >= ((next - slot) & mask)) {
+                keys[slot] = keys[next];
+                values[slot] = values[next];
+                keys[next] = EMPTY;
+                slot = next;
+            }
+            next = (next + 1) & mask;
+        }
+        freeNodes[freeCount++] = node;
+    }
+
+    long vpn(int node) {
+        return vpns[node];
+    }
+
+    int frame(int node) {
+        return frames[node];
+    }
+
+    void setFrame(int node, int frame) {
+        frames[node] = frame;
+    }
+
+    private int slotOf(long vpn) {
+        int slot = (int) (ReferenceStrings.mix(vpn) & mask);
+        while (keys[slot] != EMPTY && keys[slot] != vpn) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+}
@@ -0,0 +1,72 @@
+package ro.tuc.virtualmemorysimulator.BusinessLogic;
+
+// Page keys of a trace (the PID-tagged VPN of every address, as MemoryManager forms them) for one page size
+// and address width. Decoded once and shared read-only by every run with that layout, e.g. all runs of a
+// sweep; the next-use indices Optimal needs are built on first request and shared as well.
+public final class PageTrace {
+
+    private final long[] pageKeys;
+    private final int offsetBits;
+    private final int addressBits;
+    private volatile int[] nextUse;
+
+    private PageTrace(long[] pageKeys, int offsetBits, int addressBits) {
+        this.pageKeys = pageKeys;
+        this.offsetBits = offsetBits;
+        this.addressBits = addressBits;
+    }
+
+    // pids[i] is the process issuing address i (null = all process 0); rejects addresses outside the layout
+    public static PageTrace decode(long[] virtualAddresses, int[] pids, SimulationConfig config) {
+        if (pids != null && pids.length != virtualAddresses.length) {
+            throw new IllegalArgumentException("Address and PID counts differ: "
+                    + virtualAddresses.length + " vs " + pids.length);
+        }
+        long addressMask = (config.getAddressBits() == Long.SIZE) ? -1L : (1L << config.getAddressBits()) - 1;
+        int offsetBits = config.getOffsetBits();
+        long[] keys = new long[virtualAddresses.length];
+        for (int i = 0; i < keys.length; i++) {
+            long address = virtualAddresses[i];
+            config.checkAddress(address);
+            long vpn = (address & addressMask) >>> offsetBits;
+            if (pids != null) {
+                int pid = pids[i];
+                if (pid < 0 || pid >= MemoryManager.MAX_PROCESSES) {
+                    throw new IllegalArgumentException("Process id must be between 0 and "
+                            + (MemoryManager.MAX_PROCESSES - 1) + ": " + pid);
+                }
+                vpn |= (long) pid << MemoryManager.ASID_SHIFT;
+            }
+            keys[i] = vpn;
+        }
+        return new PageTrace(keys, offsetBits, config.getAddressBits());
+    }
+
+    // Whether runs with this config split addresses the same way, so they can share the keys
+    public boolean matches(SimulationConfig config) {
+        return config.getOffsetBits() == offsetBits && config.getAddressBits() == addressBits;
+    }
+
+    public long[] getPageKeys() {
+        return pageKeys;
+    }
+
+    public int size() {
+        return pageKeys.length;
+    }
+
+    // nextUse[i] = index of the next reference to the page at position i, or Integer.MAX_VALUE
+    public int[] getNextUse() {
+        int[] result = nextUse;
+        if (result == null) {
+            synchronized (this) {
+                result = nextUse;
+                if (result == null) {
+                    result = OptimalAlgorithm.buildNextUse(pageKeys);
+                    nextUse = result;
+                }
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,131 @@
+package ro.tuc.virtualmemorysimulator.BusinessLogic;
+
+// Counters for one address space of a multi-process run. Thrashing is judged over windows of the
+// process's own accesses: a window in which at least THRASHING_FAULT_PERCENT of them fault counts as thrashing.
+public class ProcessStats {
+
+    public static final int THRASHING_WINDOW = 1000;
+    public static final int THRASHING_FAULT_PERCENT = 50;
+
+    private final int pid;
+    private long requests = 0;
+    private long faults = 0;
+    private long tlbHits = 0;
+    private long evictedPages = 0; // own pages replaced, by anyone
+    private long stolenPages = 0;  // own pages replaced by another process's fault
+    private int residentPages = 0;
+    private int peakResidentPages = 0;
+
+    private int windowAccesses = 0;
+    private int windowFaults = 0;
+    private long windows = 0;
+    private long thrashingWindows = 0;
+
+    ProcessStats(int pid) {
+        this.pid = pid;
+    }
+
+    private ProcessStats(ProcessStats other) {
+        this.pid = other.pid;
+        this.requests = other.requests;
+        this.faults = other.faults;
+        this.tlbHits = other.tlbHits;
+        this.evictedPages = other.evictedPages;
+        this.stolenPages = other.stolenPages;
+        this.residentPages = other.residentPages;
+        this.peakResidentPages = other.peakResidentPages;
+        this.windowAccesses = other.windowAccesses;
+        this.windowFaults = other.windowFaults;
+        this.windows = other.windows;
+        this.thrashingWindows = other.thrashingWindows;
+    }
+
+    ProcessStats snapshot() {
+        return new ProcessStats(this);
+    }
+
+    void recordAccess(boolean fault, boolean tlbHit) {
+        requests++;
+        windowAccesses++;
+        if (fault) {
+            faults++;
+            windowFaults++;
+        } else if (tlbHit) {
+            tlbHits++;
+        }
+        if (windowAccesses == THRASHING_WINDOW) {
+            windows++;
+            if (windowFaults * 100L >= (long) THRASHING_FAULT_PERCENT * THRASHING_WINDOW) thrashingWindows++;
+            windowAccesses = 0;
+            windowFaults = 0;
+        }
+    }
+
+    void pageLoaded() {
+        residentPages++;
+        if (residentPages > peakResidentPages) peakResidentPages = residentPages;
+    }
+
+    void pageEvicted(boolean stolen) {
+        residentPages--;
+        evictedPages++;
+        if (stolen) stolenPages++;
+    }
+
+    void pageReleased() {
+        residentPages--;
+    }
+
+    public int getPid() {
+        return pid;
+    }
+
+    public long getRequests() {
+        return requests;
+    }
+
+    public long getFaults() {
+        return faults;
+    }
+
+    public long getTlbHits() {
+        return tlbHits;
+    }
+
+    public long getEvictedPages() {
+        return evictedPages;
+    }
+
+    public long getStolenPages() {
+        return stolenPages;
+    }
+
+    public int getResidentPages() {
+        return residentPages;
+    }
+
+    public int getPeakResidentPages() {
+        return peakResidentPages;
+    }
+
+    // Complete windows of THRASHING_WINDOW accesses, and those at or above the fault threshold
+    public long getWindows() {
+        return windows;
+    }
+
+    public long getThrashingWindows() {
+        return thrashingWindows;
+    }
+
+    public boolean isThrashing() {
+        return thrashingWindows > 0;
+    }
+
+    public double getFaultRate() {
+        return (requests == 0) ? 0.0 : (faults * 100.0) / requests;
+    }
+
+    public double getTlbHitRate() {
+        return (requests == 0) ? 0.0 : (tlbHits * 100.0) / requests;
+    }
+}
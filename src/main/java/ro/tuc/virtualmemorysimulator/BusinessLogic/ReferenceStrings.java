@@ -0,0 +1,81 @@
+package ro.tuc.virtualmemorysimulator.BusinessLogic;
+
+import java.util.Arrays;
+
+// Helpers for offline passes over a VPN reference string
+public final class ReferenceStrings {
+
+    // VPNs below this bound are used as array indices directly
+    private static final long DIRECT_LIMIT = 1L << 24;
+
+    private static final long EMPTY = -1L;
+
+    private ReferenceStrings() {
+    }
+
+    // Maps every VPN to a small non-negative int id (equal VPNs get equal ids) usable as an array index.
+    // Small VPNs keep their value; if any VPN is large (64-bit layouts), ids are assigned 0, 1, 2, ...
+    // in order of first use, since such VPNs are far too sparse to index arrays with.
+    public static int[] toDenseIds(long[] vpnTrace) {
+        int[] ids = new int[vpnTrace.length];
+
+        for (long vpn : vpnTrace) {
+            if (vpn < 0 || vpn >= DIRECT_LIMIT) {
+                return hashIds(vpnTrace, ids);
+            }
+        }
+        for (int i = 0; i < vpnTrace.length; i++) {
+            ids[i] = (int) vpnTrace[i];
+        }
+        return ids;
+    }
+
+    // Open addressing with linear probing; keys and values live in two parallel arrays
+    private static int[] hashIds(long[] vpnTrace, int[] ids) {
+        long[] keys = new long[1024];
+        int[] values = new int[1024];
+        Arrays.fill(keys, EMPTY);
+        int distinct = 0;
+
+        for (int i = 0; i < vpnTrace.length; i++) {
+            if (2 * (distinct + 1) > keys.length) {
+                long[] oldKeys = keys;
+                int[] oldValues = values;
+                keys = new long[oldKeys.length * 2];
+                values = new int[oldKeys.length * 2];
+                Arrays.fill(keys, EMPTY);
+                for (int j = 0; j < oldKeys.length; j++) {
+                    if (oldKeys[j] != EMPTY) {
+                        int slot = probe(keys, oldKeys[j]);
+                        keys[slot] = oldKeys[j];
+                        values[slot] = oldValues[j];
+                    }
+                }
+            }
+
+            long vpn = vpnTrace[i];
+            int slot = probe(keys, vpn);
+            if (keys[slot] == EMPTY) {
+                keys[slot] = vpn;
+                values[slot] = distinct++;
+            }
+            ids[i] = values[slot];
+        }
+        return ids;
+    }
+
+    // Slot holding key, or the empty slot where it would be inserted
+    private static int probe(long[] keys, long key) {
+        int mask = keys.length - 1;
+        int slot = (int) (mix(key) & mask);
+        while (keys[slot] != EMPTY && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    static long mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return h ^ (h >>> 32);
+    }
+}
@@ -0,0 +1,12 @@
+package ro.tuc.virtualmemorysimulator.BusinessLogic;
+
+// How many frames a run may hold. FIXED fills all numFrames and then replaces within them; the variable
+// modes grow and shrink the resident set over time, with numFrames as the physical limit.
+public enum ResidentSetMode {
+    FIXED,
+    // Denning's working set: a page stays resident while it was referenced within the last tau accesses
+    WORKING_SET,
+    // Page Fault Frequency: a fault after more than T fault-free accesses releases every page not
+    // referenced since the previous fault; faults closer together only add pages
+    PAGE_FAULT_FREQUENCY
+}
@@ -0,0 +1,466 @@
+package ro.tuc.virtualmemorysimulator.BusinessLogic;
+
+import ro.tuc.virtualmemorysimulator.Model.PageTable;
+import ro.tuc.virtualmemorysimulator.Model.RadixPageTable;
+import ro.tuc.virtualmemorysimulator.Model.ReplacementPolicy;
+import ro.tuc.virtualmemorysimulator.Model.TLB;
+
+// Per-run memory configuration: physical frames, TLB capacity, page size and the paging layout.
+// The 32-bit layout splits the address into directory index, table index and offset;
+// the 48-bit and 57-bit layouts are x86-64 radix tables with 9 index bits per level.
+// Instances are immutable; the with* methods return modified copies.
+public class SimulationConfig {
+
+    public static final int ADDRESS_BITS = 32;
+    public static final int ADDRESS_BITS_4_LEVEL = 48;
+    public static final int ADDRESS_BITS_5_LEVEL = 57;
+
+    public static final int PAGE_SIZE_4K = 4 * 1024;
+    public static final int PAGE_SIZE_2M = 2 * 1024 * 1024;
+    public static final int PAGE_SIZE_1G = 1024 * 1024 * 1024;
+
+    public static final int MIN_PAGE_SIZE = PAGE_SIZE_4K;
+    public static final int MAX_PAGE_SIZE = PAGE_SIZE_1G;
+    public static final int MAX_FRAMES = PageTable.MAX_FRAME_NUMBER + 1;
+    public static final int MAX_LEVEL_BITS = 20;
+
+    public static final int DEFAULT_NUM_FRAMES = 32;
+
+    private int numFrames;
+    private int tlbEntries;
+    private final int pageSize;
+    private final int addressBits;
+    private final int offsetBits;
+    private final int directoryBits; // all index bits above the leaf table
+    private final int tableBits;
+    private final int levels;
+
+    // L1 TLB geometry (0 ways = fully associative) and the optional STLB (0 entries = none)
+    private int tlbWays = 0;
+    private ReplacementPolicy tlbPolicy = ReplacementPolicy.LRU;
+    private int stlbEntries = 0;
+    private int stlbWays = 0;
+    private ReplacementPolicy stlbPolicy = ReplacementPolicy.LRU;
+
+    // Paging-structure cache between the TLB and the walk; 0 entries = no cache
+    private int pageWalkCacheEntries = 0;
+    private ReplacementPolicy pageWalkCachePolicy = ReplacementPolicy.LRU;
+
+    // Percentage of a leaf table's pages that must be resident before its region becomes a huge page; 0 = off
+    private int hugePageThreshold = 0;
+
+    // Fixed or variable resident set; the window is tau (working set) or T (PFF), counted in accesses
+    private ResidentSetMode residentSetMode = ResidentSetMode.FIXED;
+    private int residentSetWindow = 0;
+
+    // Multi-process traces: local replacement splits the frames evenly between this many processes
+    // (0 = global replacement over the shared pool); without ASIDs the TLB is flushed on every context switch
+    private int localPartitions = 0;
+    private boolean asidTagged = true;
+
+    // Latencies behind the effective access time
+    private CostModel costs = CostModel.defaultCosts();
+
+    public SimulationConfig(int numFrames, int tlbEntries) {
+        this(numFrames, tlbEntries, PAGE_SIZE_4K);
+    }
+
+    // Splits the bits above the offset evenly, giving the directory the extra bit (10/10 for 4 KB pages)
+    public SimulationConfig(int numFrames, int tlbEntries, int pageSize) {
+        this(numFrames, tlbEntries, pageSize,
+                (ADDRESS_BITS - log2(pageSize)) - (ADDRESS_BITS - log2(pageSize)) / 2,
+                (ADDRESS_BITS - log2(pageSize)) / 2);
+    }
+
+    public SimulationConfig(int numFrames, int tlbEntries, int pageSize, int directoryBits, int tableBits) {
+        this(numFrames, tlbEntries, pageSize, ADDRESS_BITS, directoryBits, tableBits);
+    }
+
+    private SimulationConfig(int numFrames, int tlbEntries, int pageSize, int addressBits,
+                             int directoryBits, int tableBits) {
+        checkFrames(numFrames);
+        checkTlbEntries(tlbEntries);
+        if (pageSize < MIN_PAGE_SIZE || pageSize > MAX_PAGE_SIZE || Integer.bitCount(pageSize) != 1) {
+            throw new IllegalArgumentException("Page size must be a power of two between 4 KB and 1 GB: " + pageSize);
+        }
+        int offset = log2(pageSize);
+        // The flat directory of the 32-bit layout is a single array, so its width is capped
+        if (directoryBits < 0 || tableBits < 0 || tableBits > MAX_LEVEL_BITS
+                || (addressBits == ADDRESS_BITS && directoryBits > MAX_LEVEL_BITS)) {
+            throw new IllegalArgumentException("Level widths must be between 0 and " + MAX_LEVEL_BITS + " bits: "
+                    + directoryBits + "/" + tableBits);
+        }
+        if (directoryBits + tableBits + offset != addressBits) {
+            throw new IllegalArgumentException("Directory (" + directoryBits + ") + table (" + tableBits
+                    + ") + offset (" + offset + ") bits must add up to " + addressBits);
+        }
+
+        this.numFrames = numFrames;
+        this.tlbEntries = tlbEntries;
+        this.pageSize = pageSize;
+        this.addressBits = addressBits;
+        this.offsetBits = offset;
+        this.directoryBits = directoryBits;
+        this.tableBits = tableBits;
+        this.levels = (addressBits == ADDRESS_BITS) ? 2 : (directoryBits + tableBits) / RadixPageTable.DEFAULT_LEVEL_BITS;
+    }
+
+    private SimulationConfig(SimulationConfig other) {
+        this.numFrames = other.numFrames;
+        this.tlbEntries = other.tlbEntries;
+        this.pageSize = other.pageSize;
+        this.addressBits = other.addressBits;
+        this.offsetBits = other.offsetBits;
+        this.directoryBits = other.directoryBits;
+        this.tableBits = other.tableBits;
+        this.levels = other.levels;
+        this.tlbWays = other.tlbWays;
+        this.tlbPolicy = other.tlbPolicy;
+        this.stlbEntries = other.stlbEntries;
+        this.stlbWays = other.stlbWays;
+        this.stlbPolicy = other.stlbPolicy;
+        this.pageWalkCacheEntries = other.pageWalkCacheEntries;
+        this.pageWalkCachePolicy = other.pageWalkCachePolicy;
+        this.hugePageThreshold = other.hugePageThreshold;
+        this.residentSetMode = other.residentSetMode;
+        this.residentSetWindow = other.residentSetWindow;
+        this.localPartitions = other.localPartitions;
+        this.asidTagged = other.asidTagged;
+        this.costs = other.costs;
+    }
+
+    public static SimulationConfig defaultConfig() {
+        return new SimulationConfig(DEFAULT_NUM_FRAMES, TLB.DEFAULT_MAX_ENTRIES);
+    }
+
+    // x86-64 paging: 48-bit (4-level) or 57-bit (5-level) addresses, 9 index bits per level.
+    // Larger pages end the walk earlier (2 MB pages: 3 levels, 1 GB pages: 2 levels in 48-bit mode).
+    public static SimulationConfig radix(int numFrames, int tlbEntries, int pageSize, int addressBits) {
+        if (addressBits != ADDRESS_BITS_4_LEVEL && addressBits != ADDRESS_BITS_5_LEVEL) {
+            throw new IllegalArgumentException("Radix paging supports 48- or 57-bit addresses: " + addressBits);
+        }
+        if (pageSize < MIN_PAGE_SIZE || pageSize > MAX_PAGE_SIZE || Integer.bitCount(pageSize) != 1) {
+            throw new IllegalArgumentException("Page size must be a power of two between 4 KB and 1 GB: " + pageSize);
+        }
+        int indexBits = addressBits - log2(pageSize);
+        int levelBits = RadixPageTable.DEFAULT_LEVEL_BITS;
+        if (indexBits % levelBits != 0) {
+            throw new IllegalArgumentException("Page size " + pageSize + " does not leave a whole number of "
+                    + levelBits + "-bit levels in a " + addressBits + "-bit address");
+        }
+        return new SimulationConfig(numFrames, tlbEntries, pageSize, addressBits, indexBits - levelBits, levelBits);
+    }
+
+    public SimulationConfig withNumFrames(int frames) {
+        checkFrames(frames);
+        SimulationConfig copy = new SimulationConfig(this);
+        copy.numFrames = frames;
+        return copy;
+    }
+
+    // Keeps the L1 associativity, so sweeps over TLB sizes vary the number of sets
+    public SimulationConfig withTlbEntries(int entries) {
+        return withTlb(entries, tlbWays, tlbPolicy);
+    }
+
+    // ways = 0 makes the L1 TLB fully associative
+    public SimulationConfig withTlb(int entries, int ways, ReplacementPolicy policy) {
+        checkTlbEntries(entries);
+        checkTlbGeometry("L1 TLB", entries, ways);
+        SimulationConfig copy = new SimulationConfig(this);
+        copy.tlbEntries = entries;
+        copy.tlbWays = ways;
+        copy.tlbPolicy = policy;
+        return copy;
+    }
+
+    // Second-level TLB behind L1; entries = 0 removes it, ways = 0 makes it fully associative
+    public SimulationConfig withStlb(int entries, int ways, ReplacementPolicy policy) {
+        if (entries < 0) {
+            throw new IllegalArgumentException("STLB size cannot be negative: " + entries);
+        }
+        if (entries > 0) {
+            checkTlbGeometry("STLB", entries, ways);
+        }
+        SimulationConfig copy = new SimulationConfig(this);
+        copy.stlbEntries = entries;
+        copy.stlbWays = ways;
+        copy.stlbPolicy = policy;
+        return copy;
+    }
+
+    // entriesPerLevel entries for every upper level of the walk; 0 disables the cache
+    public SimulationConfig withPageWalkCache(int entriesPerLevel, ReplacementPolicy policy) {
+        if (entriesPerLevel < 0) {
+            throw new IllegalArgumentException("Page-walk cache size cannot be negative: " + entriesPerLevel);
+        }
+        SimulationConfig copy = new SimulationConfig(this);
+        copy.pageWalkCacheEntries = entriesPerLevel;
+        copy.pageWalkCachePolicy = policy;
+        return copy;
+    }
+
+    // Promotes a region (one leaf table: 4 MB in the 32-bit layout, 2 MB with x86-64 4 KB pages) to a huge page
+    // once thresholdPercent of its pages are resident; 0 keeps every mapping at the base page size
+    public SimulationConfig withHugePages(int thresholdPercent) {
+        if (thresholdPercent < 0 || thresholdPercent > 100) {
+            throw new IllegalArgumentException("Huge-page threshold must be a percentage between 0 and 100: "
+                    + thresholdPercent);
+        }
+        SimulationConfig copy = new SimulationConfig(this);
+        copy.hugePageThreshold = thresholdPercent;
+        return copy;
+    }
+
+    // Working set with window tau: pages not referenced in the last tau accesses are released
+    public SimulationConfig withWorkingSet(int tau) {
+        return withResidentSet(ResidentSetMode.WORKING_SET, tau);
+    }
+
+    // Page Fault Frequency with interval T: a fault more than T accesses after the previous one
+    // releases the pages not referenced in between
+    public SimulationConfig withPageFaultFrequency(int interval) {
+        return withResidentSet(ResidentSetMode.PAGE_FAULT_FREQUENCY, interval);
+    }
+
+    public SimulationConfig withFixedResidentSet() {
+        return withResidentSet(ResidentSetMode.FIXED, 0);
+    }
+
+    private SimulationConfig withResidentSet(ResidentSetMode mode, int window) {
+        if (mode != ResidentSetMode.FIXED && window < 1) {
+            throw new IllegalArgumentException("Resident-set window must be at least one access: " + window);
+        }
+        SimulationConfig copy = new SimulationConfig(this);
+        copy.residentSetMode = mode;
+        copy.residentSetWindow = window;
+        return copy;
+    }
+
+    // Each of the processes 0..processes-1 replaces only within its own equal share of the frames
+    public SimulationConfig withLocalReplacement(int processes) {
+        if (processes < 1 || processes > MemoryManager.MAX_PROCESSES) {
+            throw new IllegalArgumentException("Local replacement needs between 1 and " + MemoryManager.MAX_PROCESSES
+                    + " processes: " + processes);
+        }
+        SimulationConfig copy = new SimulationConfig(this);
+        copy.localPartitions = processes;
+        return copy;
+    }
+
+    // Every process may take its victim from any frame
+    public SimulationConfig withGlobalReplacement() {
+        SimulationConfig copy = new SimulationConfig(this);
+        copy.localPartitions = 0;
+        return copy;
+    }
+
+    // false: TLB entries carry no address-space id, so a context switch must flush the TLB
+    public SimulationConfig withAsids(boolean tagged) {
+        SimulationConfig copy = new SimulationConfig(this);
+        copy.asidTagged = tagged;
+        return copy;
+    }
+
+    public SimulationConfig withCosts(CostModel costs) {
+        SimulationConfig copy = new SimulationConfig(this);
+        copy.costs = costs;
+        return copy;
+    }
+
+    private static void checkFrames(int numFrames) {
+        if (numFrames < 1 || numFrames > MAX_FRAMES) {
+            throw new IllegalArgumentException("Frame count must be between 1 and " + MAX_FRAMES + ": " + numFrames);
+        }
+    }
+
+    private static void checkTlbEntries(int tlbEntries) {
+        if (tlbEntries < 1) {
+            throw new IllegalArgumentException("TLB must have at least one entry: " + tlbEntries);
+        }
+    }
+
+    private static void checkTlbGeometry(String level, int entries, int ways) {
+        int effectiveWays = (ways == 0) ? entries : ways;
+        if (ways < 0 || entries % effectiveWays != 0 || Integer.bitCount(entries / effectiveWays) != 1) {
+            throw new IllegalArgumentException(level + " needs a power-of-two number of sets: "
+                    + entries + " entries / " + ways + " ways");
+        }
+    }
+
+    public int getNumFrames() {
+        return numFrames;
+    }
+
+    public int getTlbEntries() {
+        return tlbEntries;
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    public int getAddressBits() {
+        return addressBits;
+    }
+
+    // 32-bit addresses are unsigned; 48- and 57-bit ones must be canonical (the bits above the width
+    // repeat its top bit, as x86-64 requires), so no two distinct addresses fold onto the same page
+    public boolean isValidAddress(long virtualAddress) {
+        if (addressBits == ADDRESS_BITS) {
+            return (virtualAddress >>> ADDRESS_BITS) == 0;
+        }
+        long upper = virtualAddress >> (addressBits - 1);
+        return upper == 0 || upper == -1;
+    }
+
+    public void checkAddress(long virtualAddress) {
+        if (!isValidAddress(virtualAddress)) {
+            throw new IllegalArgumentException(String.format("Address 0x%x does not fit the %d-bit virtual address space",
+                    virtualAddress, addressBits));
+        }
+    }
+
+    // True for the x86-64 layouts walked through a RadixPageTable
+    public boolean isRadix() {
+        return addressBits != ADDRESS_BITS;
+    }
+
+    public int getLevels() {
+        return levels;
+    }
+
+    public int getOffsetBits() {
+        return offsetBits;
+    }
+
+    public int getDirectoryBits() {
+        return directoryBits;
+    }
+
+    public int getTableBits() {
+        return tableBits;
+    }
+
+    public int getDirectoryEntries() {
+        return 1 << directoryBits;
+    }
+
+    public int getTableEntries() {
+        return 1 << tableBits;
+    }
+
+    // Associativity of the L1 TLB; equals getTlbEntries() when fully associative
+    public int getTlbWays() {
+        return (tlbWays == 0) ? tlbEntries : tlbWays;
+    }
+
+    public ReplacementPolicy getTlbPolicy() {
+        return tlbPolicy;
+    }
+
+    public int getStlbEntries() {
+        return stlbEntries;
+    }
+
+    public int getStlbWays() {
+        return (stlbWays == 0) ? stlbEntries : stlbWays;
+    }
+
+    public ReplacementPolicy getStlbPolicy() {
+        return stlbPolicy;
+    }
+
+    public int getPageWalkCacheEntries() {
+        return pageWalkCacheEntries;
+    }
+
+    public ReplacementPolicy getPageWalkCachePolicy() {
+        return pageWalkCachePolicy;
+    }
+
+    public int getHugePageThreshold() {
+        return hugePageThreshold;
+    }
+
+    public ResidentSetMode getResidentSetMode() {
+        return residentSetMode;
+    }
+
+    // tau for the working set, T for PFF, 0 for a fixed resident set
+    public int getResidentSetWindow() {
+        return residentSetWindow;
+    }
+
+    // "fixed", "WS(1000)" or "PFF(200)"
+    public String getResidentSetLabel() {
+        return switch (residentSetMode) {
+            case FIXED -> "fixed";
+            case WORKING_SET -> "WS(" + residentSetWindow + ")";
+            case PAGE_FAULT_FREQUENCY -> "PFF(" + residentSetWindow + ")";
+        };
+    }
+
+    public boolean isLocalReplacement() {
+        return localPartitions > 0;
+    }
+
+    // Processes sharing the frames under local replacement; 0 for global replacement
+    public int getLocalPartitions() {
+        return localPartitions;
+    }
+
+    public boolean isAsidTagged() {
+        return asidTagged;
+    }
+
+    public CostModel getCosts() {
+        return costs;
+    }
+
+    // Bytes mapped by one directory entry when it maps its region directly
+    public long getHugePageSize() {
+        return (long) pageSize << tableBits;
+    }
+
+    public long getPhysicalMemoryBytes() {
+        return (long) numFrames * pageSize;
+    }
+
+    private static int log2(int powerOfTwo) {
+        return Integer.numberOfTrailingZeros(powerOfTwo);
+    }
+
+    @Override
+    public String toString() {
+        String paging = isRadix()
+                ? String.format("%d-bit %d-level radix table", addressBits, levels)
+                : String.format("%d/%d/%d address split", directoryBits, tableBits, offsetBits);
+        String text = String.format("%d frames, %d TLB entries, %d-byte pages, %s",
+                numFrames, tlbEntries, pageSize, paging);
+        if (getTlbWays() != tlbEntries) {
+            text += String.format(", %d-way %s L1 TLB", getTlbWays(), tlbPolicy);
+        }
+        if (stlbEntries > 0) {
+            text += String.format(", %d-entry %d-way %s STLB", stlbEntries, getStlbWays(), stlbPolicy);
+        }
+        if (pageWalkCacheEntries > 0) {
+            text += String.format(", %d-entry %s page-walk cache per level", pageWalkCacheEntries, pageWalkCachePolicy);
+        }
+        if (hugePageThreshold > 0) {
+            text += String.format(", %d-byte huge pages at %d%% resident", getHugePageSize(), hugePageThreshold);
+        }
+        if (residentSetMode == ResidentSetMode.WORKING_SET) {
+            text += String.format(", working set of the last %d accesses", residentSetWindow);
+        } else if (residentSetMode == ResidentSetMode.PAGE_FAULT_FREQUENCY) {
+            text += String.format(", PFF resident set (T = %d accesses)", residentSetWindow);
+        }
+        if (localPartitions > 0) {
+            text += String.format(", local replacement over %d processes", localPartitions);
+        }
+        if (!asidTagged) {
+            text += ", TLB flushed on context switches";
+        }
+        return text;
+    }
+}
@@ -0,0 +1,88 @@
+package ro.tuc.virtualmemorysimulator.BusinessLogic;
+
+import java.io.IOException;
+import java.util.function.Supplier;
+
+// Headless driver: replays a whole trace through a MemoryManager without any UI stages
+public class SimulationEngine {
+
+    private static final int STREAM_CHUNK_SIZE = 64 * 1024;
+
+    private final MemoryManager memoryManager;
+
+    public SimulationEngine(Algorithm algorithm) {
+        this.memoryManager = new MemoryManager(algorithm);
+    }
+
+    public SimulationEngine(Algorithm algorithm, SimulationConfig config) {
+        this.memoryManager = new MemoryManager(algorithm, config);
+    }
+
+    // One algorithm instance per process under local replacement
+    public SimulationEngine(Supplier<Algorithm> algorithmFactory, SimulationConfig config) {
+        this.memoryManager = new MemoryManager(algorithmFactory, config);
+    }
+
+    public SimulationResult run(long[] virtualAddresses, boolean[] isWrite) {
+        return run(virtualAddresses, isWrite, null);
+    }
+
+    // pids[i] is the process issuing address i; null runs everything as process 0
+    public SimulationResult run(long[] virtualAddresses, boolean[] isWrite, int[] pids) {
+        return run(virtualAddresses, isWrite, pids, null);
+    }
+
+    // pages: the trace's page keys, decoded once and shared with other runs (null decodes them for this run)
+    public SimulationResult run(long[] virtualAddresses, boolean[] isWrite, int[] pids, PageTrace pages) {
+        if (virtualAddresses.length != isWrite.length) {
+            throw new IllegalArgumentException("Address and read/write flag counts differ: "
+                    + virtualAddresses.length + " vs " + isWrite.length);
+        }
+
+        long start = System.nanoTime();
+
+        if (pages == null) {
+            memoryManager.setAddressTrace(virtualAddresses, pids);
+        } else {
+            memoryManager.setAddressTrace(virtualAddresses, pids, pages);
+        }
+        for (int i = 0; i < virtualAddresses.length; i++) {
+            memoryManager.step(i, isWrite[i]);
+        }
+
+        return buildResult(System.nanoTime() - start);
+    }
+
+    // Bounded-memory replay: the trace is decoded chunk by chunk and never stored.
+    // Offline algorithms (Optimal) need the full trace and are rejected here.
+    public SimulationResult run(TraceSource reader) throws IOException {
+        if (memoryManager.requiresFullTrace()) {
+            throw new IllegalArgumentException(memoryManager.getAlgorithmName()
+                    + " needs the whole trace up front and cannot run on a streamed trace");
+        }
+
+        long[] addresses = new long[STREAM_CHUNK_SIZE];
+        boolean[] isWrite = new boolean[STREAM_CHUNK_SIZE];
+        int[] pids = new int[STREAM_CHUNK_SIZE];
+
+        long start = System.nanoTime();
+
+        memoryManager.startStream();
+        int n;
+        while ((n = reader.read(addresses, isWrite, pids, 0, STREAM_CHUNK_SIZE)) >= 0) {
+            for (int i = 0; i < n; i++) {
+                memoryManager.access(pids[i], addresses[i], isWrite[i]);
+            }
+        }
+
+        return buildResult(System.nanoTime() - start);
+    }
+
+    public MemoryManager getMemoryManager() {
+        return memoryManager;
+    }
+
+    private SimulationResult buildResult(long elapsedNanos) {
+        return new SimulationResult(memoryManager, elapsedNanos);
+    }
+}
@@ -0,0 +1,287 @@
+package ro.tuc.virtualmemorysimulator.BusinessLogic;
+
+import ro.tuc.virtualmemorysimulator.Model.TLB;
+import ro.tuc.virtualmemorysimulator.Model.TLBHierarchy;
+
+import java.util.List;
+
+public class SimulationResult {
+    private final String algorithmName;
+    private final int numFrames;
+    private final int tlbEntries;
+
+    private final long requests;
+    private final long faults;
+    private final long tlbHits;
+    private final long pageTableHits;
+    private final long evictions;
+    private final long dirtyWriteBacks;
+    private final long pageIns;
+    private final long pageWalks;
+    private final long walkReferences;
+    private final long skippedWalkLevels;
+
+    // Per TLB level (STLB fields stay 0 without an STLB); promotions are STLB hits copied into L1
+    private final long l1TlbHits;
+    private final long l1TlbMisses;
+    private final int stlbEntries;
+    private final long stlbHits;
+    private final long stlbMisses;
+    private final long tlbPromotions;
+
+    // Huge pages: promotions and splits, TLB hits on huge entries (all levels) and the L1 reach at the end
+    private final long hugePagePromotions;
+    private final long hugePageSplits;
+    private final long hugeTlbHits;
+    private final long tlbReachPages;
+
+    // Resident set: the mode ("fixed", "WS(tau)", "PFF(T)"), its average and peak size in pages,
+    // and pages the variable modes released without a replacement
+    private final String residentSetMode;
+    private final double averageResidentPages;
+    private final int peakResidentPages;
+    private final long releasedPages;
+
+    // Multi-process runs: per-process counters, context switches and the TLB flushes they caused without ASIDs
+    private final List<ProcessStats> processes;
+    private final long contextSwitches;
+    private final long tlbFlushes;
+    private final long flushedTlbEntries;
+
+    private final CostModel costs;
+    private final long elapsedNanos;
+
+    // Snapshot of a finished run: the counters of the MemoryManager that replayed it, and its config
+    public SimulationResult(MemoryManager memoryManager, long elapsedNanos) {
+        SimulationConfig config = memoryManager.getConfig();
+        this.algorithmName = memoryManager.getAlgorithmName();
+        this.numFrames = memoryManager.getNumFrames();
+        this.tlbEntries = memoryManager.getTlb().getMaxEntries();
+        this.requests = memoryManager.getTotalRequests();
+        this.faults = memoryManager.getTotalFaults();
+        this.tlbHits = memoryManager.getTlbHits();
+        this.pageTableHits = memoryManager.getPageTableHits();
+        this.evictions = memoryManager.getEvictions();
+        this.dirtyWriteBacks = memoryManager.getDirtyWriteBacks();
+        this.pageIns = memoryManager.getPageIns();
+        this.pageWalks = memoryManager.getPageWalks();
+        this.walkReferences = memoryManager.getWalkReferences();
+        this.skippedWalkLevels = memoryManager.getSkippedWalkLevels();
+        this.hugePagePromotions = memoryManager.getHugePagePromotions();
+        this.hugePageSplits = memoryManager.getHugePageSplits();
+        this.residentSetMode = config.getResidentSetLabel();
+        this.averageResidentPages = memoryManager.getAverageResidentPages();
+        this.peakResidentPages = memoryManager.getPeakResidentPages();
+        this.releasedPages = memoryManager.getReleasedPages();
+        this.processes = memoryManager.getProcessStats();
+        this.contextSwitches = memoryManager.getContextSwitches();
+        this.tlbFlushes = memoryManager.getTlbFlushes();
+        this.flushedTlbEntries = memoryManager.getFlushedTlbEntries();
+        this.costs = config.getCosts();
+        TLBHierarchy tlbs = memoryManager.getTlbHierarchy();
+        TLB l1 = tlbs.getL1();
+        TLB l2 = tlbs.getL2();
+        this.l1TlbHits = l1.getHits();
+        this.l1TlbMisses = l1.getMisses();
+        this.tlbPromotions = l1.getPromotions();
+        this.stlbEntries = (l2 == null) ? 0 : l2.getMaxEntries();
+        this.stlbHits = (l2 == null) ? 0 : l2.getHits();
+        this.stlbMisses = (l2 == null) ? 0 : l2.getMisses();
+        this.hugeTlbHits = l1.getHugeHits() + ((l2 == null) ? 0 : l2.getHugeHits());
+        this.tlbReachPages = l1.getReachPages();
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public String getAlgorithmName() {
+        return algorithmName;
+    }
+
+    public int getNumFrames() {
+        return numFrames;
+    }
+
+    public int getTlbEntries() {
+        return tlbEntries;
+    }
+
+    public long getRequests() {
+        return requests;
+    }
+
+    public long getFaults() {
+        return faults;
+    }
+
+    public long getTlbHits() {
+        return tlbHits;
+    }
+
+    public long getPageTableHits() {
+        return pageTableHits;
+    }
+
+    public long getEvictions() {
+        return evictions;
+    }
+
+    public long getDirtyWriteBacks() {
+        return dirtyWriteBacks;
+    }
+
+    // Faults that read the page back from the backing store; the rest were first touches (zero-filled)
+    public long getPageIns() {
+        return pageIns;
+    }
+
+    public long getPageWalks() {
+        return pageWalks;
+    }
+
+    public long getWalkReferences() {
+        return walkReferences;
+    }
+
+    // Walk levels answered by the page-walk cache; walkReferences already excludes them
+    public long getSkippedWalkLevels() {
+        return skippedWalkLevels;
+    }
+
+    public long getL1TlbHits() {
+        return l1TlbHits;
+    }
+
+    public long getL1TlbMisses() {
+        return l1TlbMisses;
+    }
+
+    public int getStlbEntries() {
+        return stlbEntries;
+    }
+
+    public long getStlbHits() {
+        return stlbHits;
+    }
+
+    public long getStlbMisses() {
+        return stlbMisses;
+    }
+
+    public long getTlbPromotions() {
+        return tlbPromotions;
+    }
+
+    public long getHugePagePromotions() {
+        return hugePagePromotions;
+    }
+
+    public long getHugePageSplits() {
+        return hugePageSplits;
+    }
+
+    public long getHugeTlbHits() {
+        return hugeTlbHits;
+    }
+
+    // Base pages covered by the L1 TLB when the run ended
+    public long getTlbReachPages() {
+        return tlbReachPages;
+    }
+
+    public String getResidentSetMode() {
+        return residentSetMode;
+    }
+
+    public double getAverageResidentPages() {
+        return averageResidentPages;
+    }
+
+    public int getPeakResidentPages() {
+        return peakResidentPages;
+    }
+
+    public long getReleasedPages() {
+        return releasedPages;
+    }
+
+    // One entry per process that made an access, by PID
+    public List<ProcessStats> getProcesses() {
+        return processes;
+    }
+
+    public boolean isMultiProcess() {
+        return processes.size() > 1;
+    }
+
+    public long getContextSwitches() {
+        return contextSwitches;
+    }
+
+    public long getTlbFlushes() {
+        return tlbFlushes;
+    }
+
+    public long getFlushedTlbEntries() {
+        return flushedTlbEntries;
+    }
+
+    public CostModel getCosts() {
+        return costs;
+    }
+
+    // Simulated time of the whole run under the cost model, and per access
+    public double getTotalAccessNanos() {
+        return costs.memoryTime(requests, walkReferences) + costs.pagingTime(faults, pageIns, dirtyWriteBacks);
+    }
+
+    public double getEffectiveAccessNanos() {
+        return (requests == 0) ? 0.0 : getTotalAccessNanos() / requests;
+    }
+
+    // Share of the simulated time spent writing dirty victims back, in percent
+    public double getWriteBackTimePercent() {
+        double total = getTotalAccessNanos();
+        return (total == 0) ? 0.0 : costs.pagingTime(0, 0, dirtyWriteBacks) * 100.0 / total;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public double getFaultRate() {
+        return percentOfRequests(faults);
+    }
+
+    public double getTlbHitRate() {
+        return percentOfRequests(tlbHits);
+    }
+
+    // Paging-structure reads per translation, TLB hits included (they cost none)
+    public double getReferencesPerTranslation() {
+        return (requests == 0) ? 0.0 : (double) walkReferences / requests;
+    }
+
+    public double getReferencesPerWalk() {
+        return (pageWalks == 0) ? 0.0 : (double) walkReferences / pageWalks;
+    }
+
+    public double getAccessesPerSecond() {
+        if (elapsedNanos == 0) {
+            return 0.0;
+        }
+        return requests * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    private double percentOfRequests(long count) {
+        if (requests == 0) {
+            return 0.0;
+        }
+        return (count * 100.0) / requests;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: requests=%d, faults=%d (%.2f%%), tlbHits=%d (%.2f%%), pageTableHits=%d, evictions=%d, dirtyWriteBacks=%d, pageWalks=%d, walkReferences=%d, skippedWalkLevels=%d",
+                algorithmName, requests, faults, getFaultRate(), tlbHits, getTlbHitRate(),
+                pageTableHits, evictions, dirtyWriteBacks, pageWalks, walkReferences, skippedWalkLevels);
+    }
+}
@@ -0,0 +1,77 @@
+package ro.tuc.virtualmemorysimulator.BusinessLogic;
+
+import ro.tuc.virtualmemorysimulator.Model.AddressTrace;
+
+import java.util.Arrays;
+
+// Mattson stack-distance analysis in one O(n log n) pass.
+// A Fenwick tree over access timestamps marks, for every VPN, the time of its most recent
+// access; the stack distance of a reuse is the number of marks after the previous access.
+public final class StackDistanceAnalyzer {
+
+    private static final int NEVER = -1;
+
+    private StackDistanceAnalyzer() {
+    }
+
+    // Page keys as MemoryManager forms them under global replacement: the VPN for the config's page size and
+    // address width, tagged with the PID, so equal VPNs of different processes stay distinct pages
+    public static long[] pageKeys(AddressTrace trace, SimulationConfig config) {
+        return PageTrace.decode(trace.getAddresses(), trace.getPids(), config).getPageKeys();
+    }
+
+    public static StackDistanceProfile analyze(long[] vpnTrace) {
+        int n = vpnTrace.length;
+
+        int[] pageIds = ReferenceStrings.toDenseIds(vpnTrace);
+        int maxId = -1;
+        for (int id : pageIds) {
+            maxId = Math.max(maxId, id);
+        }
+        int[] lastAccess = new int[maxId + 1];
+        Arrays.fill(lastAccess, NEVER);
+
+        int[] fenwick = new int[n + 1];
+        long[] histogram = new long[2];
+        long coldMisses = 0;
+        int distinct = 0;
+
+        for (int t = 0; t < n; t++) {
+            int id = pageIds[t];
+            int previous = lastAccess[id];
+
+            if (previous == NEVER) {
+                coldMisses++;
+                distinct++;
+            } else {
+                // distinct VPNs touched since the previous access, including this one
+                int distance = prefixSum(fenwick, t - 1) - prefixSum(fenwick, previous) + 1;
+                if (distance >= histogram.length) {
+                    histogram = Arrays.copyOf(histogram, Math.max(distance + 1, Math.min(histogram.length * 2, distinct + 1)));
+                }
+                histogram[distance]++;
+                add(fenwick, previous, -1);
+            }
+
+            add(fenwick, t, 1);
+            lastAccess[id] = t;
+        }
+
+        return new StackDistanceProfile(histogram, coldMisses, n);
+    }
+
+    // Sum of marks at timestamps 0..index
+    private static int prefixSum(int[] fenwick, int index) {
+        int sum = 0;
+        for (int i = index + 1; i > 0; i -= i & -i) {
+            sum += fenwick[i];
+        }
+        return sum;
+    }
+
+    private static void add(int[] fenwick, int index, int delta) {
+        for (int i = index + 1; i < fenwick.length; i += i & -i) {
+            fenwick[i] += delta;
+        }
+    }
+}
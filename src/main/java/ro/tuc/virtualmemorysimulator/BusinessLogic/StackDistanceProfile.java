@@ -0,0 +1,68 @@
+package ro.tuc.virtualmemorysimulator.BusinessLogic;
+
+// LRU stack-distance histogram of a trace. Because LRU is a stack algorithm, one histogram
+// yields the fault count for every memory size: an access hits in a memory of C frames
+// exactly when its stack distance is at most C.
+public class StackDistanceProfile {
+    private final long[] histogram; // histogram[d] = accesses with stack distance d (d >= 1)
+    private final long coldMisses;
+    private final long totalAccesses;
+
+    public StackDistanceProfile(long[] histogram, long coldMisses, long totalAccesses) {
+        this.histogram = histogram;
+        this.coldMisses = coldMisses;
+        this.totalAccesses = totalAccesses;
+    }
+
+    public long getTotalAccesses() {
+        return totalAccesses;
+    }
+
+    public long getColdMisses() {
+        return coldMisses;
+    }
+
+    public int getMaxDistance() {
+        return histogram.length - 1;
+    }
+
+    public long getCount(int distance) {
+        if (distance < 1 || distance >= histogram.length) return 0;
+        return histogram[distance];
+    }
+
+    // Faults of an LRU memory with the given number of frames, starting empty
+    public long getMisses(int capacity) {
+        long misses = coldMisses;
+        for (int d = Math.max(capacity + 1, 1); d < histogram.length; d++) {
+            misses += histogram[d];
+        }
+        return misses;
+    }
+
+    // misses[c] for c = 0..maxCapacity, computed with one suffix sum
+    public long[] getMissCurve(int maxCapacity) {
+        long[] curve = new long[maxCapacity + 1];
+        long beyond = 0;
+        for (int d = histogram.length - 1; d > maxCapacity; d--) {
+            beyond += histogram[d];
+        }
+        curve[maxCapacity] = coldMisses + beyond;
+        for (int c = maxCapacity - 1; c >= 0; c--) {
+            curve[c] = curve[c + 1] + getCount(c + 1);
+        }
+        return curve;
+    }
+
+    public double getMissRatio(int capacity) {
+        if (totalAccesses == 0) return 0.0;
+        return (getMisses(capacity) * 100.0) / totalAccesses;
+    }
+
+    // Hit rate of a fully associative LRU cache (e.g. a TLB) with the given number of entries,
+    // assuming every translation stays valid (no invalidations from page evictions)
+    public double getHitRate(int capacity) {
+        if (totalAccesses == 0) return 0.0;
+        return ((totalAccesses - getMisses(capacity)) * 100.0) / totalAccesses;
+    }
+}
@@ -0,0 +1,119 @@
+package ro.tuc.virtualmemorysimulator.BusinessLogic;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantLock;
+
+// VPN -> frame page table shared by the cores of a MultiCoreSimulator. The VPN space is hashed onto
+// a power-of-two number of stripes, each an open-addressing table with its own lock, so cores only
+// contend when their pages hash to the same stripe. Every access must hold lockFor(vpn).
+final class StripedPageMap {
+
+    private static final long EMPTY = -1L;
+    private static final int INITIAL_SLOTS = 64;
+
+    private final Stripe[] stripes;
+    private final int stripeShift;
+
+    StripedPageMap(int stripeCount) {
+        if (Integer.bitCount(stripeCount) != 1) {
+            throw new IllegalArgumentException("Stripe count must be a power of two: " + stripeCount);
+        }
+        stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe();
+        }
+        // High hash bits pick the stripe, low bits the slot within it
+        stripeShift = Long.SIZE - Integer.numberOfTrailingZeros(stripeCount);
+    }
+
+    ReentrantLock lockFor(long vpn) {
+        return stripeOf(vpn).lock;
+    }
+
+    // Frame mapped to vpn, or -1
+    int get(long vpn) {
+        Stripe s = stripeOf(vpn);
+        int slot = s.slotOf(vpn);
+        return (s.keys[slot] == EMPTY) ? -1 : s.values[slot];
+    }
+
+    void put(long vpn, int frame) {
+        Stripe s = stripeOf(vpn);
+        int slot = s.slotOf(vpn);
+        if (s.keys[slot] == EMPTY) {
+            if ((s.size + 1) * 2 > s.keys.length) {
+                s.grow();
+                slot = s.slotOf(vpn);
+            }
+            s.keys[slot] = vpn;
+            s.size++;
+        }
+        s.values[slot] = frame;
+    }
+
+    void remove(long vpn) {
+        stripeOf(vpn).remove(vpn);
+    }
+
+    int getStripeCount() {
+        return stripes.length;
+    }
+
+    private Stripe stripeOf(long vpn) {
+        return (stripeShift == Long.SIZE) ? stripes[0] : stripes[(int) (ReferenceStrings.mix(vpn) >>> stripeShift)];
+    }
+
+    private static final class Stripe {
+        final ReentrantLock lock = new ReentrantLock();
+        long[] keys = new long[INITIAL_SLOTS];
+        int[] values = new int[INITIAL_SLOTS];
+        int size = 0;
+
+        Stripe() {
+            Arrays.fill(keys, EMPTY);
+        }
+
+        int slotOf(long vpn) {
+            int mask = keys.length - 1;
+            int slot = (int) (ReferenceStrings.mix(vpn) & mask);
+            while (keys[slot] != EMPTY && keys[slot] != vpn) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+
+        void grow() {
+            long[] oldKeys = keys;
+            int[] oldValues = values;
+            keys = new long[oldKeys.length * 2];
+            values = new int[oldKeys.length * 2];
+            Arrays.fill(keys, EMPTY);
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] == EMPTY) continue;
+                int slot = slotOf(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+
+        // Backward-shift deletion, as in PageNodes
+        void remove(long vpn) {
+            int mask = keys.length - 1;
+            int slot = slotOf(vpn);
+            if (keys[slot] == EMPTY) return;
+            keys[slot] = EMPTY;
+            size--;
+            int next = (slot + 1) & mask;
+            while (keys[next] != EMPTY) {
+                int home = (int) (ReferenceStrings.mix(keys[next]) & mask);
+                if (((next - home) & mask) >= ((next - slot) & mask)) {
+                    keys[slot] = keys[next];
+                    values[slot] = values[next];
+                    keys[next] = EMPTY;
+                    slot = next;
+                }
+                next = (next + 1) & mask;
+            }
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package ro.tuc.virtualmemorysimulator.BusinessLogic;
+
+import java.util.List;
+import java.util.function.Predicate;
+
+// Results matrix of a sweep: one SimulationResult per algorithm x base config x frames x TLB size
+public class SweepResult {
+    private final List<SimulationResult> results;
+    private final long elapsedNanos;
+
+    public SweepResult(List<SimulationResult> results, long elapsedNanos) {
+        this.results = List.copyOf(results);
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public List<SimulationResult> getResults() {
+        return results;
+    }
+
+    // Returns null when the configuration was not part of the sweep; throws when several base configs
+    // ran it, e.g. with different resident-set modes, which get(name, config) tells apart
+    public SimulationResult get(String algorithmName, int numFrames, int tlbEntries) {
+        return find(algorithmName, r -> r.getNumFrames() == numFrames && r.getTlbEntries() == tlbEntries);
+    }
+
+    // The run of the given algorithm with the config's frames, TLB size and resident-set mode and window;
+    // null when it was not part of the sweep. Base configs differing in anything else cannot be told
+    // apart here, so a second match throws rather than picking one
+    public SimulationResult get(String algorithmName, SimulationConfig config) {
+        String residentSet = config.getResidentSetLabel();
+        return find(algorithmName, r -> r.getNumFrames() == config.getNumFrames()
+                && r.getTlbEntries() == config.getTlbEntries()
+                && r.getResidentSetMode().equals(residentSet));
+    }
+
+    private SimulationResult find(String algorithmName, Predicate<SimulationResult> matches) {
+        SimulationResult found = null;
+        for (SimulationResult r : results) {
+            if (r.getAlgorithmName().equalsIgnoreCase(algorithmName) && matches.test(r)) {
+                if (found != null) {
+                    throw new IllegalStateException("More than one " + algorithmName + " run with "
+                            + r.getNumFrames() + " frames, " + r.getTlbEntries() + " TLB entries and a "
+                            + r.getResidentSetMode() + " resident set");
+                }
+                found = r;
+            }
+        }
+        return found;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+}
@@ -0,0 +1,111 @@
+package ro.tuc.virtualmemorysimulator.BusinessLogic;
+
+import ro.tuc.virtualmemorysimulator.Model.AddressTrace;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+// Runs independent MemoryManager instances for every algorithm x base config x frames x TLB size
+// combination in parallel. All runs share the same read-only decoded trace, and the runs of each page
+// layout share its page keys (and Optimal's next-use indices).
+public class SweepRunner {
+
+    private final int parallelism;
+
+    public SweepRunner() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public SweepRunner(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1: " + parallelism);
+        }
+        this.parallelism = parallelism;
+    }
+
+    public SweepResult run(AddressTrace trace, List<String> algorithmNames, int[] frameCounts, int[] tlbSizes) {
+        return run(trace, algorithmNames, frameCounts, tlbSizes, SimulationConfig.defaultConfig());
+    }
+
+    // Page size and address split come from baseConfig; frames and TLB size are swept
+    public SweepResult run(AddressTrace trace, List<String> algorithmNames, int[] frameCounts, int[] tlbSizes,
+                           SimulationConfig baseConfig) {
+        return run(trace, algorithmNames, frameCounts, tlbSizes, List.of(baseConfig));
+    }
+
+    // Several base configs, e.g. working-set windows to compare, each swept over frames and TLB size
+    public SweepResult run(AddressTrace trace, List<String> algorithmNames, int[] frameCounts, int[] tlbSizes,
+                           List<SimulationConfig> baseConfigs) {
+        for (String name : algorithmNames) {
+            if (AlgorithmFactory.create(name) == null) {
+                throw new IllegalArgumentException("Unknown algorithm: " + name);
+            }
+        }
+
+        long[] addresses = trace.getAddresses();
+        boolean[] writes = trace.getWrites();
+        int[] pids = trace.getPids();
+        // Page keys are decoded once per page layout and shared by every run using it; decoding also
+        // rejects out-of-range addresses here rather than failing every run of the sweep
+        List<PageTrace> layouts = new ArrayList<>();
+        PageTrace[] pagesOf = new PageTrace[baseConfigs.size()];
+        for (int c = 0; c < pagesOf.length; c++) {
+            SimulationConfig baseConfig = baseConfigs.get(c);
+            for (PageTrace decoded : layouts) {
+                if (decoded.matches(baseConfig)) pagesOf[c] = decoded;
+            }
+            if (pagesOf[c] == null) {
+                pagesOf[c] = PageTrace.decode(addresses, pids, baseConfig);
+                layouts.add(pagesOf[c]);
+            }
+        }
+
+        List<ForkJoinTask<SimulationResult>> tasks = new ArrayList<>();
+        for (String name : algorithmNames) {
+            for (int c = 0; c < pagesOf.length; c++) {
+                SimulationConfig baseConfig = baseConfigs.get(c);
+                PageTrace pages = pagesOf[c];
+                for (int frames : frameCounts) {
+                    for (int tlbEntries : tlbSizes) {
+                        SimulationConfig config = baseConfig.withNumFrames(frames).withTlbEntries(tlbEntries);
+                        tasks.add(ForkJoinTask.adapt(() ->
+                                new SimulationEngine(() -> AlgorithmFactory.create(name), config)
+                                        .run(addresses, writes, pids, pages)));
+                    }
+                }
+            }
+        }
+
+        long start = System.nanoTime();
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            for (ForkJoinTask<SimulationResult> task : tasks) {
+                pool.execute(task);
+            }
+
+            List<SimulationResult> results = new ArrayList<>(tasks.size());
+            for (ForkJoinTask<SimulationResult> task : tasks) {
+                results.add(task.get());
+            }
+            return new SweepResult(results, System.nanoTime() - start);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Sweep interrupted", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Sweep run failed", cause);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+}
@@ -0,0 +1,66 @@
+package ro.tuc.virtualmemorysimulator.BusinessLogic;
+
+import ro.tuc.virtualmemorysimulator.Model.AddressTrace;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+// Parses the ADDR:R/W or PID:ADDR:R/W text syntax (hex address, decimal PID, tokens separated
+// by commas or whitespace) into an in-memory trace. Malformed tokens are skipped, as in the trace text area.
+// For traces that do not fit in memory, use TraceStreamReader directly.
+public final class TraceParser {
+
+    private static final int CHUNK_SIZE = 64 * 1024;
+
+    private TraceParser() {
+    }
+
+    public static AddressTrace parse(CharSequence text) {
+        if (text == null) {
+            return new AddressTrace(new long[0], new boolean[0]);
+        }
+        byte[] bytes = text.toString().getBytes(StandardCharsets.ISO_8859_1);
+        try (TraceStreamReader reader = TraceStreamReader.of(new ByteArrayInputStream(bytes))) {
+            return readAll(reader);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // cannot happen for an in-memory stream
+        }
+    }
+
+    public static AddressTrace read(Path path) throws IOException {
+        try (TraceStreamReader reader = TraceStreamReader.open(path)) {
+            return readAll(reader);
+        }
+    }
+
+    // Drains any trace source into memory (needed by offline algorithms such as Optimal)
+    public static AddressTrace readAll(TraceSource reader) throws IOException {
+        long[] addresses = new long[CHUNK_SIZE];
+        boolean[] writes = new boolean[CHUNK_SIZE];
+        int[] pids = new int[CHUNK_SIZE];
+        int size = 0;
+        boolean multiProcess = false;
+
+        while (true) {
+            if (size == addresses.length) {
+                addresses = Arrays.copyOf(addresses, size * 2);
+                writes = Arrays.copyOf(writes, size * 2);
+                pids = Arrays.copyOf(pids, size * 2);
+            }
+            int n = reader.read(addresses, writes, pids, size, addresses.length - size);
+            if (n < 0) {
+                break;
+            }
+            for (int i = size; i < size + n && !multiProcess; i++) {
+                multiProcess = pids[i] != 0;
+            }
+            size += n;
+        }
+        return new AddressTrace(Arrays.copyOf(addresses, size), Arrays.copyOf(writes, size),
+                multiProcess ? Arrays.copyOf(pids, size) : null);
+    }
+}
@@ -0,0 +1,26 @@
+package ro.tuc.virtualmemorysimulator.BusinessLogic;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Arrays;
+
+// A trace that is consumed chunk by chunk instead of being held in memory
+public interface TraceSource extends Closeable {
+
+    // Decodes up to length records into the arrays starting at offset.
+    // Returns the number of records decoded, or -1 once the trace is exhausted.
+    int read(long[] addresses, boolean[] writes, int offset, int length) throws IOException;
+
+    default int read(long[] addresses, boolean[] writes) throws IOException {
+        return read(addresses, writes, 0, Math.min(addresses.length, writes.length));
+    }
+
+    // Also fills in the process id of each record (0 for formats without one)
+    default int read(long[] addresses, boolean[] writes, int[] pids, int offset, int length) throws IOException {
+        int n = read(addresses, writes, offset, length);
+        if (n > 0) {
+            Arrays.fill(pids, offset, offset + n, 0);
+        }
+        return n;
+    }
+}
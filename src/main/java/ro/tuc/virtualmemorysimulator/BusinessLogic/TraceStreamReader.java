@@ -0,0 +1,194 @@
+package ro.tuc.virtualmemorysimulator.BusinessLogic;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Incremental reader for the ADDR:R/W text syntax, optionally prefixed with a decimal process id
+// (PID:ADDR:R/W; records without one belong to process 0).
+// Bytes are pulled through a fixed-size buffer and decoded into caller-owned chunks,
+// so memory use does not depend on the length of the trace.
+public class TraceStreamReader implements TraceSource {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_HEX_DIGITS = 16;
+    private static final int MAX_PID_DIGITS = 9;
+
+    // Token states
+    private static final int SEPARATOR = 0;
+    private static final int ADDRESS = 1;
+    private static final int OPERATION = 2;
+    private static final int INVALID = 3;
+
+    private final ReadableByteChannel channel;
+    private final ByteBuffer buffer;
+    private boolean endOfInput = false;
+
+    // Partially decoded token, carried across buffer refills. In PID:ADDR:R/W the first field is read
+    // both as a hex address and as a decimal PID until the second colon shows which one it was.
+    private int state = SEPARATOR;
+    private long value = 0;
+    private int digits = 0;
+    private long decimalValue = 0;
+    private boolean decimal = true;
+    private int pid = 0;
+    private boolean hasPid = false;
+    private long fieldValue = 0; // the field after a colon, read as hex in case it is the address
+    private int fieldDigits = 0;
+    private boolean fieldIsHex = true;
+    private int operationLength = 0;
+    private boolean operationIsWrite = false;
+
+    public TraceStreamReader(ReadableByteChannel channel) {
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        this.buffer.flip(); // start empty
+    }
+
+    public static TraceStreamReader open(Path path) throws IOException {
+        return new TraceStreamReader(FileChannel.open(path, StandardOpenOption.READ));
+    }
+
+    public static TraceStreamReader of(InputStream in) {
+        return new TraceStreamReader(Channels.newChannel(in));
+    }
+
+    @Override
+    public int read(long[] addresses, boolean[] writes, int offset, int length) throws IOException {
+        return read(addresses, writes, null, offset, length);
+    }
+
+    // pids may be null when the caller does not need them
+    @Override
+    public int read(long[] addresses, boolean[] writes, int[] pids, int offset, int length) throws IOException {
+        int end = offset + length;
+        int count = offset;
+
+        while (count < end) {
+            if (!buffer.hasRemaining()) {
+                if (endOfInput || !refill()) {
+                    if (finishToken()) {
+                        emit(addresses, writes, pids, count++);
+                    }
+                    clearToken();
+                    break;
+                }
+            }
+
+            byte b = buffer.get();
+            if (isSeparator(b)) {
+                if (finishToken()) {
+                    emit(addresses, writes, pids, count++);
+                }
+                clearToken();
+                continue;
+            }
+
+            switch (state) {
+                case SEPARATOR, ADDRESS -> {
+                    if (b == ':') {
+                        state = (digits == 0) ? INVALID : OPERATION;
+                    } else {
+                        int digit = Character.digit(b, 16);
+                        if (digit < 0 || digits == MAX_HEX_DIGITS) {
+                            state = INVALID;
+                        } else {
+                            value = (value << 4) | digit;
+                            digits++;
+                            state = ADDRESS;
+                            decimal &= digit < 10 && digits <= MAX_PID_DIGITS;
+                            decimalValue = decimalValue * 10 + digit;
+                        }
+                    }
+                }
+                case OPERATION -> {
+                    if (b == ':') {
+                        // A second colon: the first field was the PID and this one the address
+                        if (hasPid || !decimal || !fieldIsHex || fieldDigits == 0) {
+                            state = INVALID;
+                        } else {
+                            hasPid = true;
+                            pid = (int) decimalValue;
+                            value = fieldValue;
+                            fieldValue = 0;
+                            fieldDigits = 0;
+                            operationLength = 0;
+                            operationIsWrite = false;
+                        }
+                    } else {
+                        operationLength++;
+                        operationIsWrite = (operationLength == 1) && (b == 'W' || b == 'w');
+                        int digit = Character.digit(b, 16);
+                        if (digit < 0 || fieldDigits == MAX_HEX_DIGITS) {
+                            fieldIsHex = false;
+                        } else {
+                            fieldValue = (fieldValue << 4) | digit;
+                            fieldDigits++;
+                        }
+                    }
+                }
+                default -> {
+                    // INVALID: skip until the next separator
+                }
+            }
+        }
+
+        if (count == offset && endOfInput && !buffer.hasRemaining()) {
+            return -1;
+        }
+        return count - offset;
+    }
+
+    private void emit(long[] addresses, boolean[] writes, int[] pids, int index) {
+        addresses[index] = value;
+        writes[index] = operationIsWrite;
+        if (pids != null) pids[index] = pid;
+    }
+
+    private static boolean isSeparator(byte b) {
+        return b == ',' || b == ' ' || b == '\n' || b == '\r' || b == '\t' || b == '\f' || b == 0x0B;
+    }
+
+    private boolean refill() throws IOException {
+        buffer.clear();
+        int n;
+        do {
+            n = channel.read(buffer);
+        } while (n == 0);
+        buffer.flip();
+        if (n < 0) {
+            endOfInput = true;
+            return false;
+        }
+        return true;
+    }
+
+    private boolean finishToken() {
+        return state == OPERATION && operationLength > 0;
+    }
+
+    private void clearToken() {
+        state = SEPARATOR;
+        value = 0;
+        digits = 0;
+        decimalValue = 0;
+        decimal = true;
+        pid = 0;
+        hasPid = false;
+        fieldValue = 0;
+        fieldDigits = 0;
+        fieldIsHex = true;
+        operationLength = 0;
+        operationIsWrite = false;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
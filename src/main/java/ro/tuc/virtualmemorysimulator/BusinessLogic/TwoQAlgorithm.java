@@ -0,0 +1,111 @@
+package ro.tuc.virtualmemorysimulator.BusinessLogic;
+
+import ro.tuc.virtualmemorysimulator.Model.Frame;
+
+import java.util.Arrays;
+import java.util.List;
+
+// Full 2Q (Johnson & Shasha): a page seen for the first time enters the FIFO A1in; only a page faulted
+// again while its VPN is still in the ghost queue A1out is promoted to the LRU list Am. Pages touched
+// once, such as a sequential scan, pass through A1in without disturbing Am.
+// A1in is held to a quarter of the frames and A1out remembers half as many VPNs as there are frames.
+public class TwoQAlgorithm implements Algorithm {
+    private static final int AM = 0;
+    private static final int A1_IN = 1;
+    private static final int A1_OUT = 2;
+
+    private int numFrames = 0;
+    private int kIn = 1;
+    private int kOut = 1;
+    private PageNodes nodes = new PageNodes(0);
+    private NodeLists lists = new NodeLists(0, 3);
+    private int[] nodeOfFrame = new int[0];
+
+    // Set by onPageFault for the page about to be loaded
+    private long pendingVpn;
+    private int pendingGhost = -1;
+
+    @Override
+    public void reset(int numFrames) {
+        kIn = Math.max(1, numFrames / 4);
+        kOut = Math.max(1, numFrames / 2);
+        if (numFrames != this.numFrames || nodeOfFrame.length != numFrames) {
+            int capacity = numFrames + kOut + 1;
+            nodes = new PageNodes(capacity);
+            lists = new NodeLists(capacity, 3);
+            nodeOfFrame = new int[numFrames];
+        } else {
+            nodes.clear();
+            lists.clear();
+        }
+        Arrays.fill(nodeOfFrame, -1);
+        this.numFrames = numFrames;
+        pendingGhost = -1;
+    }
+
+    @Override
+    public void onPageFault(long vpn, int currentIndex) {
+        pendingVpn = vpn;
+        int node = nodes.find(vpn);
+        pendingGhost = (node >= 0 && lists.listOf(node) == A1_OUT) ? node : -1;
+        // Taken off A1out so making room there cannot drop it
+        if (pendingGhost >= 0) lists.remove(pendingGhost);
+    }
+
+    @Override
+    public int replacePage(List<Frame> frames, long[] referenceString, int currentIndex) {
+        boolean fromA1In = lists.size(A1_IN) > kIn || lists.size(AM) == 0;
+        int victim = lists.back(fromA1In ? A1_IN : AM);
+        if (victim < 0) return 0;
+
+        int frame = nodes.frame(victim);
+        nodeOfFrame[frame] = -1;
+        if (fromA1In) {
+            // Remembered in A1out, dropping its oldest VPN when full
+            if (lists.size(A1_OUT) >= kOut) discard(lists.back(A1_OUT));
+            nodes.setFrame(victim, -1);
+            lists.addFront(A1_OUT, victim);
+        } else {
+            discard(victim);
+        }
+        return frame;
+    }
+
+    @Override
+    public void onFrameLoaded(int frameIndex, boolean replaced, int currentIndex) {
+        int node = pendingGhost;
+        if (node >= 0) {
+            lists.addFront(AM, node);
+        } else {
+            node = nodes.add(pendingVpn);
+            lists.addFront(A1_IN, node);
+        }
+        nodes.setFrame(node, frameIndex);
+        nodeOfFrame[frameIndex] = node;
+        pendingGhost = -1;
+    }
+
+    // A hit in A1in changes nothing: correlated references right after the first one do not count
+    @Override
+    public void onFrameAccessed(int frameIndex, int currentIndex) {
+        int node = nodeOfFrame[frameIndex];
+        if (node >= 0 && lists.listOf(node) == AM) lists.addFront(AM, node);
+    }
+
+    @Override
+    public void onFrameFreed(int frameIndex) {
+        discard(nodeOfFrame[frameIndex]);
+        nodeOfFrame[frameIndex] = -1;
+    }
+
+    @Override
+    public String getName() {
+        return "2Q";
+    }
+
+    private void discard(int node) {
+        if (node < 0) return;
+        lists.remove(node);
+        nodes.free(node);
+    }
+}
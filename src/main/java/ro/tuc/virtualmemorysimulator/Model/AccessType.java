@@ -0,0 +1,8 @@
+package ro.tuc.virtualmemorysimulator.Model;
+
+// Outcome of one translation, from cheapest to most expensive
+public enum AccessType {
+    TLB_HIT,
+    PAGE_TABLE_HIT,
+    PAGE_FAULT
+}
@@ -0,0 +1,65 @@
+package ro.tuc.virtualmemorysimulator.Model;
+
+public class AddressTrace {
+    private final long[] addresses;
+    private final boolean[] writes;
+    private final int[] pids; // null when every record belongs to process 0
+
+    public AddressTrace(long[] addresses, boolean[] writes) {
+        this(addresses, writes, null);
+    }
+
+    public AddressTrace(long[] addresses, boolean[] writes, int[] pids) {
+        if (addresses.length != writes.length || (pids != null && pids.length != addresses.length)) {
+            throw new IllegalArgumentException("Address, read/write flag and PID counts differ: "
+                    + addresses.length + " vs " + writes.length + (pids == null ? "" : " vs " + pids.length));
+        }
+        this.addresses = addresses;
+        this.writes = writes;
+        this.pids = pids;
+    }
+
+    public long[] getAddresses() {
+        return addresses;
+    }
+
+    public boolean[] getWrites() {
+        return writes;
+    }
+
+    // Process id of every record, or null for a single-process trace
+    public int[] getPids() {
+        return pids;
+    }
+
+    public int getPid(int index) {
+        return (pids == null) ? 0 : pids[index];
+    }
+
+    // Number of address spaces the trace needs (highest PID + 1)
+    public int getProcessCount() {
+        int max = 0;
+        if (pids != null) {
+            for (int pid : pids) {
+                max = Math.max(max, pid);
+            }
+        }
+        return max + 1;
+    }
+
+    public long getAddress(int index) {
+        return addresses[index];
+    }
+
+    public boolean isWrite(int index) {
+        return writes[index];
+    }
+
+    public int size() {
+        return addresses.length;
+    }
+
+    public boolean isEmpty() {
+        return addresses.length == 0;
+    }
+}
@@ -2,27 +2,42 @@ package ro.tuc.virtualmemorysimulator.Model;
 
 public class Frame {
     private final int id;
-    private Page currentPage;
+    private long vpn;
+    private long lastAccess; // logical access clock value of the last reference
 
     public Frame (int id) {
         this.id = id;
-        this.currentPage = null;
+        this.vpn = -1;
+        this.lastAccess = 0;
     }
 
     public int getFrameId() {
         return id;
     }
 
-    public Page getCurrentPage() {
-        return currentPage;
+    public long getVpn() {
+        return vpn;
     }
 
-    public void setCurrentPage(Page page) {
-        this.currentPage = page;
+    public void setVpn(long vpn) {
+        this.vpn = vpn;
+    }
+
+    public long getLastAccess() {
+        return lastAccess;
+    }
+
+    public void setLastAccess(long lastAccess) {
+        this.lastAccess = lastAccess;
+    }
+
+    public void clear() {
+        this.vpn = -1;
+        this.lastAccess = 0;
     }
 
     public boolean isFree() {
-        return currentPage == null;
+        return vpn < 0;
     }
 
 }
@@ -1,55 +1,50 @@
 package ro.tuc.virtualmemorysimulator.Model;
 
-import java.time.LocalDateTime;
-
+// Flyweight view over a packed PTE stored in a PageTable
 public class Page {
-    private final int id;
-    private boolean valid;
-    private int frameNumber;
-    private LocalDateTime lastUsedTime;
-    private boolean dirty;
+    private final PageTable table;
+    private final int index;
+    private final long id;
 
-    public Page(int id) {
+    public Page(PageTable table, int index, long id) {
+        this.table = table;
+        this.index = index;
         this.id = id;
-        this.valid = false;
-        this.frameNumber = -1;
-        this.lastUsedTime = LocalDateTime.now();
-        this.dirty = false;
     }
 
-    public int getPageId() {
+    public long getPageId() {
         return id;
     }
 
     public boolean isValid() {
-        return valid;
+        return table.isPresent(index);
     }
 
     public void setValid(boolean valid) {
-        this.valid = valid;
+        table.setPresent(index, valid);
     }
 
     public int getFrameNumber() {
-        return frameNumber;
+        return table.getFrameNumber(index);
     }
 
     public void setFrameNumber(int frameNumber) {
-        this.frameNumber = frameNumber;
+        table.setFrameNumber(index, frameNumber);
     }
 
-    public LocalDateTime getLastUsedTime() {
-        return lastUsedTime;
+    public boolean isDirty() {
+        return table.isDirty(index);
     }
 
-    public void setLastUsedTime(LocalDateTime lastUsedTime) {
-        this.lastUsedTime = lastUsedTime;
+    public void setDirty(boolean dirty) {
+        table.setDirty(index, dirty);
     }
 
-    public boolean isDirty() {
-        return dirty;
+    public boolean isAccessed() {
+        return table.isAccessed(index);
     }
 
-    public void setDirty(boolean dirty) {
-        this.dirty = dirty;
+    public void setAccessed(boolean accessed) {
+        table.setAccessed(index, accessed);
     }
 }
@@ -1,32 +1,134 @@
 package ro.tuc.virtualmemorysimulator.Model;
 
-public class PageDirectory {
+// Two-level structure of the 32-bit layout: one directory of page tables
+public class PageDirectory implements PagingStructure {
 
-    private static final int ENTRIES = 1024;
+    public static final int DEFAULT_ENTRIES = 1024;
+    public static final int DEFAULT_TABLE_BITS = 10;
 
+    private final int numEntries;
+    private final int tableBits; // VPN = (dirIndex << tableBits) | tableIndex
+    private final int tableMask;
+
+    // Page tables are allocated on first touch; a null slot reads as "not present"
     private final PageTable[] tables;
+    private final int[] allocatedIndices;
+    private final long[] allocatedBits;
+    private int allocatedCount;
+
+    private int lastWalkDepth = 0;
 
     public PageDirectory() {
-        tables = new PageTable[ENTRIES];
-        for (int i = 0; i < ENTRIES; i++) {
-            tables[i] = new PageTable();
-        }
+        this(DEFAULT_ENTRIES, DEFAULT_TABLE_BITS);
+    }
+
+    public PageDirectory(int numEntries, int tableBits) {
+        this.numEntries = numEntries;
+        this.tableBits = tableBits;
+        this.tableMask = (1 << tableBits) - 1;
+        tables = new PageTable[numEntries];
+        allocatedIndices = new int[numEntries];
+        allocatedBits = new long[(numEntries + 63) / 64];
+        allocatedCount = 0;
     }
 
     public PageTable getTable(int index) {
-        if (index < 0 || index >= ENTRIES)
+        if (index < 0 || index >= numEntries)
             return null;
         return tables[index];
     }
 
+    public PageTable getOrCreateTable(int index) {
+        if (index < 0 || index >= numEntries)
+            return null;
+        PageTable table = tables[index];
+        if (table == null) {
+            table = new PageTable((long) index << tableBits, 1 << tableBits);
+            setTable(index, table);
+        }
+        return table;
+    }
+
     public void setTable(int index, PageTable table) {
-        if (index < 0 || index >= ENTRIES)
+        if (index < 0 || index >= numEntries)
             return;
+        if (table != null && (allocatedBits[index >>> 6] & (1L << index)) == 0) {
+            allocatedBits[index >>> 6] |= 1L << index;
+            allocatedIndices[allocatedCount++] = index;
+        }
         tables[index] = table;
     }
 
+    @Override
+    public int getLevels() {
+        return 2;
+    }
+
+    @Override
+    public int getIndexShift(int depth) {
+        return (depth == 1) ? tableBits : 0;
+    }
+
+    // Directory entry, then (if the table exists and is not mapped as a huge page) the PTE
+    @Override
+    public PageTable walk(long vpn) {
+        PageTable table = getTableFor(vpn);
+        lastWalkDepth = (table == null || table.isHuge()) ? 1 : 2;
+        return table;
+    }
+
+    @Override
+    public int getLastWalkDepth() {
+        return lastWalkDepth;
+    }
+
+    @Override
+    public int getLastWalkReferences() {
+        return lastWalkDepth;
+    }
+
+    @Override
+    public PageTable getTableFor(long vpn) {
+        return getTable(directoryIndex(vpn));
+    }
+
+    @Override
+    public PageTable getOrCreateTableFor(long vpn) {
+        return getOrCreateTable(directoryIndex(vpn));
+    }
+
+    @Override
+    public int getEntryIndex(long vpn) {
+        return (int) (vpn & tableMask);
+    }
+
+    // Out-of-range VPNs map to -1, which getTable treats as "not present"
+    private int directoryIndex(long vpn) {
+        long index = vpn >>> tableBits;
+        return (index < numEntries) ? (int) index : -1;
+    }
+
     public int size() {
-        return ENTRIES;
+        return numEntries;
     }
-}
 
+    public int getTableBits() {
+        return tableBits;
+    }
+
+    @Override
+    public int getAllocatedTableCount() {
+        return allocatedCount;
+    }
+
+    // Drops only the tables that were touched since the last clear
+    @Override
+    public void clear() {
+        for (int i = 0; i < allocatedCount; i++) {
+            int index = allocatedIndices[i];
+            tables[index] = null;
+            allocatedBits[index >>> 6] = 0;
+        }
+        allocatedCount = 0;
+    }
+}
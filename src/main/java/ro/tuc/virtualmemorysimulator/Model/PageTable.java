@@ -2,34 +2,156 @@ package ro.tuc.virtualmemorysimulator.Model;
 
 public class PageTable {
 
-    private static final int ENTRIES = 1024;
+    public static final int DEFAULT_ENTRIES = 1024;
 
-    private final Page[] entries;
+    // Packed PTE layout, following the x86 32-bit page table entry for the flag bits
+    public static final int PTE_PRESENT = 1; // bit 0
+    public static final int PTE_ACCESSED = 1 << 5; // bit 5
+    public static final int PTE_DIRTY = 1 << 6; // bit 6
+    public static final int PTE_PAGED_OUT = 1 << 8; // bit 8 (global in x86, unused here): a copy is in the backing store
+    public static final int PTE_TOUCHED = 1 << 9; // bit 9 (available to software): entry has been allocated
+    // bits 31..10 hold the frame number; two bits wider than x86 so memories of millions of frames fit
+    public static final int FRAME_SHIFT = 10;
+    public static final int MAX_FRAME_NUMBER = (1 << (32 - FRAME_SHIFT)) - 1;
 
-    public PageTable() {
-        entries = new Page[ENTRIES];
-        for (int i = 0; i < ENTRIES; i++) {
-            entries[i] = new Page(i);
-        }
+    private final long baseVpn;
+    private final int numEntries;
+
+    // One int per PTE; 0 means the entry was never touched and reads as "not present"
+    private final int[] entries;
+    private final int[] touchedIndices;
+    private int touchedCount;
+    private int presentCount;
+
+    // Set while the whole table is mapped as one huge page by its directory entry (x86 PS bit)
+    private boolean huge = false;
+
+    public PageTable(long baseVpn) {
+        this(baseVpn, DEFAULT_ENTRIES);
+    }
+
+    public PageTable(long baseVpn, int numEntries) {
+        this.baseVpn = baseVpn;
+        this.numEntries = numEntries;
+        entries = new int[numEntries];
+        touchedIndices = new int[numEntries];
+        touchedCount = 0;
+        presentCount = 0;
     }
 
+    // Flyweight view over the packed entry, or null if the entry was never touched
     public Page getEntry(int index) {
-        if (index < 0 || index >= ENTRIES) return null;
+        if (index < 0 || index >= numEntries) return null;
+        if (entries[index] == 0) return null;
+        return new Page(this, index, baseVpn | index);
+    }
+
+    public int getPte(int index) {
         return entries[index];
     }
 
-    public void setEntry(int index, Page entry) {
-        if (index < 0 || index >= ENTRIES) return;
-        entries[index] = entry;
+    public void touch(int index) {
+        if (entries[index] == 0) {
+            entries[index] = PTE_TOUCHED;
+            touchedIndices[touchedCount++] = index;
+        }
+    }
+
+    public void map(int index, int frameNumber) {
+        touch(index);
+        if ((entries[index] & PTE_PRESENT) == 0) presentCount++;
+        entries[index] = PTE_TOUCHED | PTE_PRESENT | PTE_ACCESSED | (frameNumber << FRAME_SHIFT);
+    }
+
+    // The page leaves memory, so the next fault on it reads it back from the backing store
+    public void unmap(int index) {
+        if (entries[index] != 0) {
+            if ((entries[index] & PTE_PRESENT) != 0) presentCount--;
+            entries[index] = PTE_TOUCHED | PTE_PAGED_OUT;
+        }
+    }
+
+    public boolean isPresent(int index) {
+        return (entries[index] & PTE_PRESENT) != 0;
+    }
+
+    public boolean isDirty(int index) {
+        return (entries[index] & PTE_DIRTY) != 0;
+    }
+
+    // Not present, but resident before: a fault on it is a page-in rather than a zero-filled first touch
+    public boolean isPagedOut(int index) {
+        return (entries[index] & PTE_PAGED_OUT) != 0;
+    }
+
+    public boolean isAccessed(int index) {
+        return (entries[index] & PTE_ACCESSED) != 0;
+    }
+
+    public int getFrameNumber(int index) {
+        int pte = entries[index];
+        if ((pte & PTE_PRESENT) == 0) return -1;
+        return pte >>> FRAME_SHIFT;
+    }
+
+    public void setPresent(int index, boolean present) {
+        setFlag(index, PTE_PRESENT, present);
+    }
+
+    public void setDirty(int index, boolean dirty) {
+        setFlag(index, PTE_DIRTY, dirty);
+    }
+
+    public void setAccessed(int index, boolean accessed) {
+        setFlag(index, PTE_ACCESSED, accessed);
+    }
+
+    public void setFrameNumber(int index, int frameNumber) {
+        touch(index);
+        int frameBits = (frameNumber < 0) ? 0 : (frameNumber << FRAME_SHIFT);
+        entries[index] = (entries[index] & ((1 << FRAME_SHIFT) - 1)) | frameBits;
+    }
+
+    private void setFlag(int index, int flag, boolean value) {
+        touch(index);
+        if (flag == PTE_PRESENT && value != isPresent(index)) {
+            presentCount += value ? 1 : -1;
+        }
+        if (value) {
+            entries[index] |= flag;
+        } else {
+            entries[index] &= ~flag;
+        }
+    }
+
+    public boolean isHuge() {
+        return huge;
+    }
+
+    public void setHuge(boolean huge) {
+        this.huge = huge;
+    }
+
+    public long getBaseVpn() {
+        return baseVpn;
     }
 
     public int size() {
-        return ENTRIES;
+        return numEntries;
+    }
+
+    public int getTouchedEntryCount() {
+        return touchedCount;
+    }
+
+    // Entries currently mapped to a frame
+    public int getPresentCount() {
+        return presentCount;
     }
 
     public boolean hasAnyValidEntry() {
-        for (Page e : entries) {
-            if (e != null && e.isValid()) {
+        for (int i = 0; i < touchedCount; i++) {
+            if ((entries[touchedIndices[i]] & PTE_PRESENT) != 0) {
                 return true;
             }
         }
@@ -37,12 +159,10 @@ public class PageTable {
     }
 
     public void reset() {
-        for (Page e : entries) {
-            if (e != null) {
-                e.setValid(false);
-                e.setFrameNumber(-1);
-                e.setDirty(false);
-            }
+        for (int i = 0; i < touchedCount; i++) {
+            entries[touchedIndices[i]] = PTE_TOUCHED;
         }
+        presentCount = 0;
+        huge = false;
     }
 }
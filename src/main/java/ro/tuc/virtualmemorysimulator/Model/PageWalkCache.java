@@ -0,0 +1,162 @@
+package ro.tuc.virtualmemorysimulator.Model;
+
+import java.util.Arrays;
+
+// Paging-structure cache (x86 PML4E/PDPTE/PDE caches): remembers present upper-level entries,
+// tagged by the VPN bits that select them, so a walk after a TLB miss can start below the root.
+// Each upper level has its own small fully associative array; the deepest hit wins.
+public class PageWalkCache {
+
+    private static final long EMPTY = -1L;
+
+    private final int cachedLevels; // upper levels only: the leaf PTE is what the TLB caches
+    private final int entriesPerLevel;
+    private final ReplacementPolicy policy;
+    private final int[] shifts; // shifts[d - 1] = VPN bits below the entry read at depth d
+
+    // [level * entriesPerLevel + way]
+    private final long[] tags;
+    private final long[] stamps; // last use (LRU) or insertion time (FIFO)
+    private long clock = 0;
+    private long randomState;
+
+    private long lookups = 0;
+    private long hits = 0;
+    private long skippedLevels = 0;
+    private final long[] hitsPerDepth;
+
+    public PageWalkCache(PagingStructure paging, int entriesPerLevel, ReplacementPolicy policy) {
+        if (entriesPerLevel < 1) {
+            throw new IllegalArgumentException("Page-walk cache needs at least one entry per level: " + entriesPerLevel);
+        }
+        this.cachedLevels = paging.getLevels() - 1;
+        this.entriesPerLevel = entriesPerLevel;
+        this.policy = policy;
+        this.shifts = new int[cachedLevels];
+        for (int depth = 1; depth <= cachedLevels; depth++) {
+            shifts[depth - 1] = paging.getIndexShift(depth);
+        }
+        this.tags = new long[cachedLevels * entriesPerLevel];
+        this.stamps = new long[cachedLevels * entriesPerLevel];
+        this.hitsPerDepth = new long[cachedLevels + 1];
+        clearEntries();
+    }
+
+    // Number of upper levels the walk for vpn can skip (0 on a miss)
+    public int lookup(long vpn) {
+        lookups++;
+        for (int depth = cachedLevels; depth >= 1; depth--) {
+            int way = find(depth, vpn >>> shifts[depth - 1]);
+            if (way >= 0) {
+                if (policy == ReplacementPolicy.LRU) {
+                    stamps[way] = ++clock;
+                }
+                hits++;
+                skippedLevels += depth;
+                hitsPerDepth[depth]++;
+                return depth;
+            }
+        }
+        return 0;
+    }
+
+    // Caches the present upper-level entries a walk read, from the root down to presentDepth
+    public void fill(long vpn, int presentDepth) {
+        int deepest = Math.min(presentDepth, cachedLevels);
+        for (int depth = 1; depth <= deepest; depth++) {
+            long tag = vpn >>> shifts[depth - 1];
+            if (find(depth, tag) < 0) {
+                int way = victim(depth);
+                tags[way] = tag;
+                stamps[way] = ++clock;
+            }
+        }
+    }
+
+    // Drops every cached entry on the path to vpn (after its directory entry changed)
+    public void invalidate(long vpn) {
+        for (int depth = 1; depth <= cachedLevels; depth++) {
+            int way = find(depth, vpn >>> shifts[depth - 1]);
+            if (way >= 0) {
+                tags[way] = EMPTY;
+                stamps[way] = 0;
+            }
+        }
+    }
+
+    public void clear() {
+        clearEntries();
+    }
+
+    // Private so the constructor can empty the arrays without calling an overridable method
+    private void clearEntries() {
+        Arrays.fill(tags, EMPTY);
+        Arrays.fill(stamps, 0);
+        clock = 0;
+        randomState = 0x9E3779B97F4A7C15L;
+    }
+
+    public void resetStats() {
+        lookups = 0;
+        hits = 0;
+        skippedLevels = 0;
+        Arrays.fill(hitsPerDepth, 0);
+    }
+
+    public int getEntriesPerLevel() {
+        return entriesPerLevel;
+    }
+
+    public int getCachedLevels() {
+        return cachedLevels;
+    }
+
+    public ReplacementPolicy getPolicy() {
+        return policy;
+    }
+
+    public long getLookups() {
+        return lookups;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getSkippedLevels() {
+        return skippedLevels;
+    }
+
+    // Index d = lookups whose deepest hit was the entry read at depth d; index 0 is unused
+    public long[] getHitsPerDepth() {
+        return hitsPerDepth.clone();
+    }
+
+    private int find(int depth, long tag) {
+        int base = (depth - 1) * entriesPerLevel;
+        for (int way = base; way < base + entriesPerLevel; way++) {
+            if (tags[way] == tag) return way;
+        }
+        return -1;
+    }
+
+    private int victim(int depth) {
+        int base = (depth - 1) * entriesPerLevel;
+        for (int way = base; way < base + entriesPerLevel; way++) {
+            if (tags[way] == EMPTY) return way;
+        }
+        if (policy == ReplacementPolicy.RANDOM) {
+            // xorshift64: deterministic, so runs stay reproducible
+            randomState ^= randomState << 13;
+            randomState ^= randomState >>> 7;
+            randomState ^= randomState << 17;
+            return base + (int) Long.remainderUnsigned(randomState, entriesPerLevel);
+        }
+        // LRU and FIFO both evict the oldest stamp; only LRU refreshes it on a hit
+        int oldest = base;
+        for (int way = base + 1; way < base + entriesPerLevel; way++) {
+            if (stamps[way] < stamps[oldest]) oldest = way;
+        }
+        return oldest;
+    }
+}
@@ -0,0 +1,34 @@
+package ro.tuc.virtualmemorysimulator.Model;
+
+// Radix tree that translates a VPN to the leaf page table holding its PTE.
+// walk() models the hardware page walk and records how deep it went and how many
+// paging-structure entries it had to read; the other lookups are bookkeeping and are not counted.
+public interface PagingStructure {
+
+    int getLevels();
+
+    // VPN bits below the entry read at the given depth (1 = root); vpn >>> shift selects that entry
+    int getIndexShift(int depth);
+
+    // Reads one entry per level from the root down; stops early at a missing upper-level entry,
+    // or at the directory entry if it maps the leaf table as a huge page.
+    // Returns the leaf table, or null if the walk ended at a missing entry.
+    PageTable walk(long vpn);
+
+    int getLastWalkDepth();
+
+    int getLastWalkReferences();
+
+    // Leaf table holding the PTE of vpn, or null if it was never allocated
+    PageTable getTableFor(long vpn);
+
+    // Same, allocating the missing levels on the way down
+    PageTable getOrCreateTableFor(long vpn);
+
+    // Index of the PTE of vpn inside its leaf table
+    int getEntryIndex(long vpn);
+
+    int getAllocatedTableCount();
+
+    void clear();
+}
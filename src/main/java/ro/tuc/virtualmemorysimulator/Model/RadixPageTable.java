@@ -0,0 +1,145 @@
+package ro.tuc.virtualmemorysimulator.Model;
+
+// x86-64 style multi-level page table: every level indexes levelBits of the VPN
+// (9 bits = 512 entries, so 4 levels cover 48-bit and 5 levels 57-bit addresses with 4 KB pages).
+// Upper-level nodes and leaf tables are allocated on first touch, so a sparse address space
+// only pays for the paths it actually uses.
+public class RadixPageTable implements PagingStructure {
+
+    public static final int DEFAULT_LEVEL_BITS = 9;
+
+    private final int levels;
+    private final int levelBits;
+    private final int levelMask;
+
+    // Upper levels hold child nodes (Object[]); the level above the leaves holds PageTables
+    private Object[] root;
+    private int allocatedNodes;
+    private int allocatedTables;
+
+    private int lastWalkDepth = 0;
+
+    public RadixPageTable(int levels) {
+        this(levels, DEFAULT_LEVEL_BITS);
+    }
+
+    public RadixPageTable(int levels, int levelBits) {
+        if (levels < 2) {
+            throw new IllegalArgumentException("A radix page table needs at least two levels: " + levels);
+        }
+        if (levelBits < 1 || levels * levelBits > 62) {
+            throw new IllegalArgumentException("Unsupported level width: " + levels + " x " + levelBits + " bits");
+        }
+        this.levels = levels;
+        this.levelBits = levelBits;
+        this.levelMask = (1 << levelBits) - 1;
+        clearTables();
+    }
+
+    @Override
+    public int getLevels() {
+        return levels;
+    }
+
+    @Override
+    public int getIndexShift(int depth) {
+        return (levels - depth) * levelBits;
+    }
+
+    public int getLevelBits() {
+        return levelBits;
+    }
+
+    @Override
+    public PageTable walk(long vpn) {
+        Object[] node = root;
+        int depth = 1;
+        for (int level = levels - 1; level > 1; level--, depth++) {
+            node = (Object[]) node[index(vpn, level)];
+            if (node == null) {
+                lastWalkDepth = depth;
+                return null;
+            }
+        }
+        PageTable table = (PageTable) node[index(vpn, 1)];
+        lastWalkDepth = (table == null || table.isHuge()) ? depth : depth + 1;
+        return table;
+    }
+
+    @Override
+    public int getLastWalkDepth() {
+        return lastWalkDepth;
+    }
+
+    // Every level visited costs one memory reference
+    @Override
+    public int getLastWalkReferences() {
+        return lastWalkDepth;
+    }
+
+    @Override
+    public PageTable getTableFor(long vpn) {
+        Object[] node = root;
+        for (int level = levels - 1; level > 1; level--) {
+            node = (Object[]) node[index(vpn, level)];
+            if (node == null) return null;
+        }
+        return (PageTable) node[index(vpn, 1)];
+    }
+
+    @Override
+    public PageTable getOrCreateTableFor(long vpn) {
+        Object[] node = root;
+        for (int level = levels - 1; level > 1; level--) {
+            int i = index(vpn, level);
+            Object[] child = (Object[]) node[i];
+            if (child == null) {
+                child = new Object[1 << levelBits];
+                node[i] = child;
+                allocatedNodes++;
+            }
+            node = child;
+        }
+        int i = index(vpn, 1);
+        PageTable table = (PageTable) node[i];
+        if (table == null) {
+            table = new PageTable(vpn & ~(long) levelMask, 1 << levelBits);
+            node[i] = table;
+            allocatedTables++;
+        }
+        return table;
+    }
+
+    @Override
+    public int getEntryIndex(long vpn) {
+        return (int) (vpn & levelMask);
+    }
+
+    @Override
+    public int getAllocatedTableCount() {
+        return allocatedTables;
+    }
+
+    // Upper-level nodes, including the root
+    public int getAllocatedNodeCount() {
+        return allocatedNodes;
+    }
+
+    @Override
+    public void clear() {
+        clearTables();
+    }
+
+    // Body of clear(), safe to run from the constructor
+    private void clearTables() {
+        root = new Object[1 << levelBits];
+        allocatedNodes = 1;
+        allocatedTables = 0;
+        lastWalkDepth = 0;
+    }
+
+    // Level 0 is the leaf PTE index, level (levels - 1) the root index
+    private int index(long vpn, int level) {
+        return (int) (vpn >>> (level * levelBits)) & levelMask;
+    }
+}
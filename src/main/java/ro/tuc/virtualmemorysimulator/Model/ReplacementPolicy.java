@@ -0,0 +1,18 @@
+package ro.tuc.virtualmemorysimulator.Model;
+
+import java.util.Locale;
+
+// Victim choice inside small hardware caches (paging-structure caches, TLB sets)
+public enum ReplacementPolicy {
+    LRU,
+    FIFO,
+    RANDOM;
+
+    public static ReplacementPolicy parse(String name) {
+        try {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown replacement policy: " + name + " (expected LRU, FIFO or RANDOM)");
+        }
+    }
+}
@@ -1,42 +1,275 @@
 package ro.tuc.virtualmemorysimulator.Model;
 
+import java.util.Arrays;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
+// One TLB level: sets x ways of VPN -> frame entries kept in primitive arrays, so lookups
+// and updates never allocate. A single set with LRU is the classic fully associative TLB.
+// Entries are either base pages or huge pages covering 2^hugePageShift VPNs; a lookup probes both.
 public class TLB {
-    private static final int MAX_ENTRIES = 16;//32;
-    private final LinkedHashMap<Integer, Integer> cache;
+    public static final int DEFAULT_MAX_ENTRIES = 16;//32;
+    public static final int MISS = -1;
+    // Returned for a hit on a huge-page entry: the frame of the base page is read from its page table
+    public static final int HUGE_PAGE = -2;
+
+    private static final long EMPTY = -1L;
+
+    private final int maxEntries;
+    private final int sets;
+    private final int ways;
+    private final int setMask;
+    private final ReplacementPolicy policy;
+    private final int hugePageShift; // 0 = no huge-page entries
+
+    // [set * ways + way]
+    private final long[] tags; // VPN (huge entries: VPN >>> hugePageShift), or EMPTY
+    private final boolean[] huge;
+    private int hugeEntries = 0;
+    private final int[] frames;
+    private final long[] stamps; // last use (LRU) or insertion time (FIFO)
+    private long clock = 0;
+    private long randomState;
+
+    private long hits = 0;
+    private long misses = 0;
+    private long promotions = 0;
+    private long hugeHits = 0;
 
     public TLB() {
-        this.cache = new LinkedHashMap<>(MAX_ENTRIES, 0.75f, true) {
-            @Override
-            protected boolean removeEldestEntry(Map.Entry<Integer, Integer> eldest) {
-                return size() > MAX_ENTRIES;
-            }
-        };
+        this(DEFAULT_MAX_ENTRIES);
+    }
+
+    public TLB(int maxEntries) {
+        this(maxEntries, maxEntries, ReplacementPolicy.LRU);
+    }
+
+    public TLB(int maxEntries, int ways, ReplacementPolicy policy) {
+        this(maxEntries, ways, policy, 0);
+    }
+
+    public TLB(int maxEntries, int ways, ReplacementPolicy policy, int hugePageShift) {
+        if (maxEntries < 1 || ways < 1 || maxEntries % ways != 0) {
+            throw new IllegalArgumentException("TLB entries (" + maxEntries + ") must be a positive multiple of the ways ("
+                    + ways + ")");
+        }
+        int numSets = maxEntries / ways;
+        if (Integer.bitCount(numSets) != 1) {
+            throw new IllegalArgumentException("TLB set count must be a power of two: " + maxEntries + " / " + ways
+                    + " = " + numSets);
+        }
+        this.maxEntries = maxEntries;
+        this.sets = numSets;
+        this.ways = ways;
+        this.setMask = numSets - 1;
+        this.policy = policy;
+        this.hugePageShift = hugePageShift;
+        this.tags = new long[maxEntries];
+        this.huge = new boolean[maxEntries];
+        this.frames = new int[maxEntries];
+        this.stamps = new long[maxEntries];
+        clearEntries();
+    }
+
+    // Frame number, HUGE_PAGE or MISS; counts the hit or miss and refreshes LRU order
+    public int lookup(long virtualPageNumber) {
+        int slot = findEntry(virtualPageNumber);
+        if (slot < 0) {
+            misses++;
+            return MISS;
+        }
+        hits++;
+        if (huge[slot]) {
+            hugeHits++;
+        }
+        if (policy == ReplacementPolicy.LRU) {
+            stamps[slot] = ++clock;
+        }
+        return frames[slot];
+    }
+
+    // Same as lookup, without touching statistics or replacement state (for display)
+    public int peek(long virtualPageNumber) {
+        int slot = findEntry(virtualPageNumber);
+        return (slot < 0) ? MISS : frames[slot];
+    }
+
+    public void update(long virtualPageNumber, int frameNumber) {
+        insert(virtualPageNumber, false, frameNumber);
     }
 
-    public Integer lookup(int virtualPageNumber) {
-        return cache.get(virtualPageNumber);
+    // One entry for the whole huge page containing virtualPageNumber
+    public void updateHuge(long virtualPageNumber) {
+        insert(virtualPageNumber >>> hugePageShift, true, HUGE_PAGE);
     }
 
-    public void update(int virtualPageNumber, int frameNumber) {
-        cache.put(virtualPageNumber, frameNumber);
+    // Fill from a lower TLB level after a hit there
+    public void promote(long virtualPageNumber, int frameNumber) {
+        if (frameNumber == HUGE_PAGE) {
+            updateHuge(virtualPageNumber);
+        } else {
+            update(virtualPageNumber, frameNumber);
+        }
+        promotions++;
+    }
+
+    private void insert(long tag, boolean isHuge, int frameNumber) {
+        int slot = find(tag, isHuge);
+        if (slot < 0) {
+            slot = victim(tag);
+            if (huge[slot] && tags[slot] != EMPTY) hugeEntries--;
+            tags[slot] = tag;
+            huge[slot] = isHuge;
+            if (isHuge) hugeEntries++;
+            stamps[slot] = ++clock;
+        } else if (policy == ReplacementPolicy.LRU) {
+            stamps[slot] = ++clock;
+        }
+        frames[slot] = frameNumber;
     }
 
     public void clear() {
-        cache.clear();
+        clearEntries();
+    }
+
+    // The constructor calls this rather than clear(), which a subclass could override
+    private void clearEntries() {
+        Arrays.fill(tags, EMPTY);
+        Arrays.fill(huge, false);
+        hugeEntries = 0;
+        Arrays.fill(stamps, 0);
+        clock = 0;
+        randomState = 0x9E3779B97F4A7C15L;
     }
 
-    public void remove(int vpn) {
-        cache.remove(vpn);
+    public void resetStats() {
+        hits = 0;
+        misses = 0;
+        promotions = 0;
+        hugeHits = 0;
     }
 
-    public Map<Integer, Integer> getEntries() {
-        return cache;
+    public void remove(long vpn) {
+        invalidate(find(vpn, false));
+    }
+
+    // Drops the huge-page entry covering vpn, if any
+    public void removeHuge(long vpn) {
+        if (hugeEntries > 0) {
+            invalidate(find(vpn >>> hugePageShift, true));
+        }
+    }
+
+    private void invalidate(int slot) {
+        if (slot >= 0) {
+            if (huge[slot]) hugeEntries--;
+            tags[slot] = EMPTY;
+            huge[slot] = false;
+            stamps[slot] = 0;
+        }
+    }
+
+    // Snapshot of the valid base-page entries, oldest stamp first (least recently used first under LRU)
+    public Map<Long, Integer> getEntries() {
+        Integer[] order = new Integer[maxEntries];
+        int count = 0;
+        for (int slot = 0; slot < maxEntries; slot++) {
+            if (tags[slot] != EMPTY && !huge[slot]) order[count++] = slot;
+        }
+        Arrays.sort(order, 0, count, (a, b) -> Long.compare(stamps[a], stamps[b]));
+
+        Map<Long, Integer> entries = new LinkedHashMap<>();
+        for (int i = 0; i < count; i++) {
+            entries.put(tags[order[i]], frames[order[i]]);
+        }
+        return entries;
     }
 
     public int getMaxEntries() {
-        return MAX_ENTRIES;
+        return maxEntries;
+    }
+
+    public int getSets() {
+        return sets;
+    }
+
+    public int getWays() {
+        return ways;
+    }
+
+    public ReplacementPolicy getPolicy() {
+        return policy;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    // Entries filled from the level below instead of from a page walk
+    public long getPromotions() {
+        return promotions;
+    }
+
+    public long getHugeHits() {
+        return hugeHits;
+    }
+
+    // Valid entries, base and huge (what a flush discards)
+    public int getValidEntries() {
+        int count = 0;
+        for (int slot = 0; slot < maxEntries; slot++) {
+            if (tags[slot] != EMPTY) count++;
+        }
+        return count;
+    }
+
+    // Virtual pages currently covered by the valid entries (the TLB reach, in base pages)
+    public long getReachPages() {
+        long pages = 0;
+        for (int slot = 0; slot < maxEntries; slot++) {
+            if (tags[slot] != EMPTY) pages += huge[slot] ? (1L << hugePageShift) : 1;
+        }
+        return pages;
+    }
+
+    // Base-page entry first, then (if any are cached) the huge-page entry covering the VPN
+    private int findEntry(long vpn) {
+        int slot = find(vpn, false);
+        if (slot < 0 && hugeEntries > 0) {
+            slot = find(vpn >>> hugePageShift, true);
+        }
+        return slot;
+    }
+
+    private int find(long tag, boolean isHuge) {
+        int base = ((int) tag & setMask) * ways;
+        for (int slot = base; slot < base + ways; slot++) {
+            if (tags[slot] == tag && huge[slot] == isHuge) return slot;
+        }
+        return -1;
+    }
+
+    private int victim(long tag) {
+        int base = ((int) tag & setMask) * ways;
+        for (int slot = base; slot < base + ways; slot++) {
+            if (tags[slot] == EMPTY) return slot;
+        }
+        if (policy == ReplacementPolicy.RANDOM) {
+            // xorshift64: deterministic, so runs stay reproducible
+            randomState ^= randomState << 13;
+            randomState ^= randomState >>> 7;
+            randomState ^= randomState << 17;
+            return base + (int) Long.remainderUnsigned(randomState, ways);
+        }
+        // LRU and FIFO both evict the oldest stamp; only LRU refreshes it on a hit
+        int oldest = base;
+        for (int slot = base + 1; slot < base + ways; slot++) {
+            if (stamps[slot] < stamps[oldest]) oldest = slot;
+        }
+        return oldest;
     }
-}
\ No newline at end of file
+}
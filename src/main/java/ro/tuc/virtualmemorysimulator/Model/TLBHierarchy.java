@@ -0,0 +1,92 @@
+package ro.tuc.virtualmemorysimulator.Model;
+
+// L1 data TLB backed by an optional second-level TLB (STLB).
+// An STLB hit promotes the entry into L1; a miss in both levels means a page walk,
+// after which the translation is installed in both.
+public class TLBHierarchy {
+
+    private final TLB l1;
+    private final TLB l2; // null when there is no STLB
+
+    private int lastHitLevel = 0;
+
+    public TLBHierarchy(TLB l1) {
+        this(l1, null);
+    }
+
+    public TLBHierarchy(TLB l1, TLB l2) {
+        this.l1 = l1;
+        this.l2 = l2;
+    }
+
+    // Frame number, TLB.HUGE_PAGE, or TLB.MISS if no level holds the translation
+    public int lookup(long vpn) {
+        int frame = l1.lookup(vpn);
+        if (frame != TLB.MISS) {
+            lastHitLevel = 1;
+            return frame;
+        }
+        if (l2 != null) {
+            frame = l2.lookup(vpn);
+            if (frame != TLB.MISS) {
+                l1.promote(vpn, frame);
+                lastHitLevel = 2;
+                return frame;
+            }
+        }
+        lastHitLevel = 0;
+        return TLB.MISS;
+    }
+
+    public void update(long vpn, int frame) {
+        l1.update(vpn, frame);
+        if (l2 != null) l2.update(vpn, frame);
+    }
+
+    public void updateHuge(long vpn) {
+        l1.updateHuge(vpn);
+        if (l2 != null) l2.updateHuge(vpn);
+    }
+
+    public void remove(long vpn) {
+        l1.remove(vpn);
+        if (l2 != null) l2.remove(vpn);
+    }
+
+    public void removeHuge(long vpn) {
+        l1.removeHuge(vpn);
+        if (l2 != null) l2.removeHuge(vpn);
+    }
+
+    public void clear() {
+        l1.clear();
+        if (l2 != null) l2.clear();
+    }
+
+    public int getValidEntries() {
+        return l1.getValidEntries() + ((l2 == null) ? 0 : l2.getValidEntries());
+    }
+
+    public void resetStats() {
+        l1.resetStats();
+        if (l2 != null) l2.resetStats();
+        lastHitLevel = 0;
+    }
+
+    public TLB getL1() {
+        return l1;
+    }
+
+    public TLB getL2() {
+        return l2;
+    }
+
+    public boolean hasL2() {
+        return l2 != null;
+    }
+
+    // 1 or 2 for the level that answered the last lookup, 0 for a miss
+    public int getLastHitLevel() {
+        return lastHitLevel;
+    }
+}
@@ -0,0 +1,602 @@
+package ro.tuc.virtualmemorysimulator.PresentationLayer;
+
+import ro.tuc.virtualmemorysimulator.BusinessLogic.*;
+import ro.tuc.virtualmemorysimulator.Model.AddressTrace;
+import ro.tuc.virtualmemorysimulator.Model.ReplacementPolicy;
+import ro.tuc.virtualmemorysimulator.Model.TLB;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+// Headless entry point: replays a trace file and prints summary statistics as text or JSON
+public class SimulatorCli {
+
+    private static final String USAGE = """
+            Usage: SimulatorCli <trace-file> [options]
+            The trace file may be text (ADDR:R/W or PID:ADDR:R/W) or the binary trace format.
+              --algorithm <names>  Replacement algorithm(s): %s (default: LRU)
+              --frames <list>      Number(s) of physical frames (default: %d)
+              --tlb <list>         Number(s) of L1 TLB entries (default: %d)
+              --tlb-ways <n>       L1 TLB associativity (default: 0 = fully associative)
+              --tlb-policy <p>     L1 TLB replacement: LRU, FIFO or RANDOM (default: LRU)
+              --stlb <entries>     Second-level TLB entries (default: 0 = no STLB)
+              --stlb-ways <n>      STLB associativity (default: 0 = fully associative)
+              --stlb-policy <p>    STLB replacement: LRU, FIFO or RANDOM (default: LRU)
+              --page-size <size>   Page size: 4K, 2M, 1G or a power of two in bytes (default: 4K)
+              --levels <dir,table> Directory and table index widths in bits (default: even split)
+              --address-bits <n>   32 (two-level), 48 (4-level) or 57 (5-level x86-64 paging) (default: 32)
+              --pwc <entries>      Page-walk cache entries per upper level (default: 0 = no cache)
+              --pwc-policy <p>     Page-walk cache eviction: LRU, FIFO or RANDOM (default: LRU)
+              --huge-pages <pct>   Promote a leaf table's region to a huge page once pct%% of it is resident
+                                   (default: 0 = base pages only)
+              --working-set <list> Working-set window(s) tau in accesses: pages unused for tau accesses
+                                   leave memory; --frames is the physical limit (default: fixed resident set)
+              --pff <list>         Page Fault Frequency interval(s) T in accesses: a fault after more than T
+                                   fault-free accesses releases pages unused since the previous fault
+              --replacement <s>    Multi-process traces: global (victims from any process) or local (each
+                                   process replaces within an equal share of the frames) (default: global)
+              --no-asid            TLB entries carry no address-space id: flush the TLB on context switches
+              --costs <t,m,f,i,w>  Latencies in ns of a TLB lookup, a memory reference, fault handling, a page-in
+                                   and a dirty write-back, for the effective access time
+                                   (default: 1,100,1000,100000,100000)
+              --cores <list>       Replay the trace from this many cores in parallel, each with a private TLB,
+                                   over one shared page table; evictions use a concurrent Clock and send
+                                   TLB shootdowns to the other cores. PIDs, if any, pick the core.
+              --threads <n>        Worker threads for sweeps (default: available processors)
+              --format <fmt>       Output format: text or json (default: text)
+              --convert <file>     Convert the text trace to the binary format and exit
+              --curve <max>        Print LRU fault and TLB hit-rate curves for sizes 1..max (one pass)
+            Comma-separated lists run a parallel sweep over every combination.
+            """;
+
+    public static void main(String[] args) {
+        System.exit(run(args));
+    }
+
+    static int run(String[] args) {
+        String tracePath = null;
+        List<String> algorithmNames = List.of("LRU");
+        int[] frames = {MemoryManager.DEFAULT_NUM_FRAMES};
+        int[] tlbEntries = {TLB.DEFAULT_MAX_ENTRIES};
+        int threads = Runtime.getRuntime().availableProcessors();
+        String format = "text";
+        String convertPath = null;
+        int curveMax = 0;
+        int pageSize = SimulationConfig.PAGE_SIZE_4K;
+        int[] levels = null;
+        int addressBits = SimulationConfig.ADDRESS_BITS;
+        int tlbWays = 0;
+        ReplacementPolicy tlbPolicy = ReplacementPolicy.LRU;
+        int stlbEntries = 0;
+        int stlbWays = 0;
+        ReplacementPolicy stlbPolicy = ReplacementPolicy.LRU;
+        int pwcEntries = 0;
+        ReplacementPolicy pwcPolicy = ReplacementPolicy.LRU;
+        int hugePageThreshold = 0;
+        int[] workingSetWindows = null;
+        int[] pffIntervals = null;
+        boolean localReplacement = false;
+        boolean asidTagged = true;
+        int[] coreCounts = null;
+        CostModel costs = CostModel.defaultCosts();
+        SimulationConfig baseConfig;
+        List<SimulationConfig> baseConfigs = new ArrayList<>();
+
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--algorithm" -> algorithmNames = List.of(requireValue(args, ++i).split(","));
+                    case "--frames" -> frames = parseIntList(requireValue(args, ++i));
+                    case "--tlb" -> tlbEntries = parseIntList(requireValue(args, ++i));
+                    case "--threads" -> threads = Integer.parseInt(requireValue(args, ++i));
+                    case "--format" -> format = requireValue(args, ++i).toLowerCase(Locale.ROOT);
+                    case "--convert" -> convertPath = requireValue(args, ++i);
+                    case "--curve" -> curveMax = Integer.parseInt(requireValue(args, ++i));
+                    case "--page-size" -> pageSize = parsePageSize(requireValue(args, ++i));
+                    case "--levels" -> levels = parseIntList(requireValue(args, ++i));
+                    case "--address-bits" -> addressBits = Integer.parseInt(requireValue(args, ++i));
+                    case "--tlb-ways" -> tlbWays = Integer.parseInt(requireValue(args, ++i));
+                    case "--tlb-policy" -> tlbPolicy = ReplacementPolicy.parse(requireValue(args, ++i));
+                    case "--stlb" -> stlbEntries = Integer.parseInt(requireValue(args, ++i));
+                    case "--stlb-ways" -> stlbWays = Integer.parseInt(requireValue(args, ++i));
+                    case "--stlb-policy" -> stlbPolicy = ReplacementPolicy.parse(requireValue(args, ++i));
+                    case "--pwc" -> pwcEntries = Integer.parseInt(requireValue(args, ++i));
+                    case "--pwc-policy" -> pwcPolicy = ReplacementPolicy.parse(requireValue(args, ++i));
+                    case "--huge-pages" -> hugePageThreshold = Integer.parseInt(requireValue(args, ++i));
+                    case "--working-set" -> workingSetWindows = parseIntList(requireValue(args, ++i));
+                    case "--pff" -> pffIntervals = parseIntList(requireValue(args, ++i));
+                    case "--replacement" -> localReplacement = parseReplacementScope(requireValue(args, ++i));
+                    case "--no-asid" -> asidTagged = false;
+                    case "--cores" -> coreCounts = parseIntList(requireValue(args, ++i));
+                    case "--costs" -> costs = parseCosts(requireValue(args, ++i));
+                    case "-h", "--help" -> {
+                        printUsage();
+                        return 0;
+                    }
+                    default -> {
+                        if (args[i].startsWith("--") || tracePath != null) {
+                            throw new IllegalArgumentException("Unexpected argument: " + args[i]);
+                        }
+                        tracePath = args[i];
+                    }
+                }
+            }
+            if (tracePath == null) {
+                throw new IllegalArgumentException("Missing trace file.");
+            }
+            if (!format.equals("text") && !format.equals("json")) {
+                throw new IllegalArgumentException("Unknown output format: " + format);
+            }
+            if (levels != null && levels.length != 2) {
+                throw new IllegalArgumentException("--levels expects two widths: <dir,table>");
+            }
+            if (addressBits != SimulationConfig.ADDRESS_BITS) {
+                if (levels != null) {
+                    throw new IllegalArgumentException("--levels only applies to 32-bit addresses");
+                }
+                baseConfig = SimulationConfig.radix(frames[0], tlbEntries[0], pageSize, addressBits);
+            } else if (levels == null) {
+                baseConfig = new SimulationConfig(frames[0], tlbEntries[0], pageSize);
+            } else {
+                baseConfig = new SimulationConfig(frames[0], tlbEntries[0], pageSize, levels[0], levels[1]);
+            }
+            baseConfig = baseConfig.withTlb(tlbEntries[0], tlbWays, tlbPolicy)
+                    .withStlb(stlbEntries, stlbWays, stlbPolicy)
+                    .withPageWalkCache(pwcEntries, pwcPolicy)
+                    .withHugePages(hugePageThreshold)
+                    .withAsids(asidTagged)
+                    .withCosts(costs);
+            if (workingSetWindows != null && pffIntervals != null) {
+                throw new IllegalArgumentException("--working-set and --pff cannot be combined");
+            }
+            if (workingSetWindows != null) {
+                for (int tau : workingSetWindows) {
+                    baseConfigs.add(baseConfig.withWorkingSet(tau));
+                }
+            } else if (pffIntervals != null) {
+                for (int interval : pffIntervals) {
+                    baseConfigs.add(baseConfig.withPageFaultFrequency(interval));
+                }
+            } else {
+                baseConfigs.add(baseConfig);
+            }
+            baseConfig = baseConfigs.get(0);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            printUsage();
+            return 2;
+        }
+
+        if (convertPath != null) {
+            return convert(tracePath, convertPath);
+        }
+        if (curveMax > 0) {
+            return curve(tracePath, curveMax, baseConfig, format);
+        }
+        if (coreCounts != null) {
+            return multiCore(tracePath, coreCounts, frames, baseConfig, format);
+        }
+
+        for (String name : algorithmNames) {
+            if (AlgorithmFactory.create(name) == null) {
+                System.err.println("Unknown algorithm: " + name);
+                printUsage();
+                return 2;
+            }
+        }
+
+        if (algorithmNames.size() * baseConfigs.size() * frames.length * tlbEntries.length > 1) {
+            return sweep(tracePath, algorithmNames, frames, tlbEntries, baseConfigs, localReplacement, threads, format);
+        }
+
+        String algorithmName = algorithmNames.get(0);
+        SimulationResult result;
+        SimulationEngine engine;
+        try (TraceSource source = openTrace(Path.of(tracePath))) {
+            // Local replacement sizes its partitions from the number of processes in the trace
+            if (localReplacement || AlgorithmFactory.create(algorithmName).requiresFullTrace()) {
+                AddressTrace trace = TraceParser.readAll(source);
+                SimulationConfig config = localReplacement
+                        ? baseConfig.withLocalReplacement(trace.getProcessCount())
+                        : baseConfig;
+                engine = new SimulationEngine(() -> AlgorithmFactory.create(algorithmName), config);
+                result = engine.run(trace.getAddresses(), trace.getWrites(), trace.getPids());
+            } else {
+                // Streamed: memory stays constant regardless of the trace length
+                engine = new SimulationEngine(AlgorithmFactory.create(algorithmName), baseConfig);
+                result = engine.run(source);
+            }
+        } catch (IOException e) {
+            System.err.println("Could not read trace file " + tracePath + ": " + e.getMessage());
+            return 1;
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            return 2;
+        }
+
+        if (format.equals("json")) {
+            System.out.println(toJson(tracePath, result));
+        } else {
+            System.out.println(toText(tracePath, result));
+            System.out.println(residentSetText(result));
+            if (result.isMultiProcess()) {
+                System.out.println(processText(result));
+            }
+            System.out.println(tlbLevelText(result, baseConfig));
+            System.out.println(walkDepthText(engine.getMemoryManager()));
+        }
+        return 0;
+    }
+
+    private static int sweep(String tracePath, List<String> algorithmNames, int[] frames, int[] tlbEntries,
+                             List<SimulationConfig> baseConfigs, boolean localReplacement, int threads,
+                             String format) {
+        SweepResult sweep;
+        try {
+            AddressTrace trace;
+            try (TraceSource source = openTrace(Path.of(tracePath))) {
+                trace = TraceParser.readAll(source);
+            }
+            if (localReplacement) {
+                List<SimulationConfig> local = new ArrayList<>();
+                for (SimulationConfig config : baseConfigs) {
+                    local.add(config.withLocalReplacement(trace.getProcessCount()));
+                }
+                baseConfigs = local;
+            }
+            sweep = new SweepRunner(threads).run(trace, algorithmNames, frames, tlbEntries, baseConfigs);
+        } catch (IOException e) {
+            System.err.println("Could not read trace file " + tracePath + ": " + e.getMessage());
+            return 1;
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            return 2;
+        }
+
+        if (format.equals("json")) {
+            List<String> rows = new ArrayList<>();
+            for (SimulationResult r : sweep.getResults()) {
+                rows.add(toJson(tracePath, r));
+            }
+            System.out.println("[" + String.join(",\n", rows) + "]");
+        } else {
+            // Variable resident sets add their mode and the average resident set to each row
+            // and multi-process traces the number of processes that thrashed
+            boolean variable = baseConfigs.get(0).getResidentSetMode() != ResidentSetMode.FIXED;
+            boolean multiProcess = sweep.getResults().stream().anyMatch(SimulationResult::isMultiProcess);
+            System.out.printf(Locale.ROOT, "%-14s %8s %6s %12s %12s %10s %10s %10s %12s %12s%s%s%n",
+                    "Algorithm", "Frames", "TLB", "Requests", "Faults", "Fault %", "TLB hit %", "Refs/xlat",
+                    "Write-backs", "EAT ns",
+                    variable ? String.format(Locale.ROOT, " %-12s %10s", "Resident set", "Avg pages") : "",
+                    multiProcess ? String.format(Locale.ROOT, " %10s", "Thrashing") : "");
+            for (SimulationResult r : sweep.getResults()) {
+                System.out.printf(Locale.ROOT, "%-14s %8d %6d %12d %12d %10.2f %10.2f %10.3f %12d %12.1f%s%s%n",
+                        r.getAlgorithmName(), r.getNumFrames(), r.getTlbEntries(),
+                        r.getRequests(), r.getFaults(), r.getFaultRate(), r.getTlbHitRate(),
+                        r.getReferencesPerTranslation(), r.getDirtyWriteBacks(), r.getEffectiveAccessNanos(),
+                        variable ? String.format(Locale.ROOT, " %-12s %10.1f",
+                                r.getResidentSetMode(), r.getAverageResidentPages()) : "",
+                        multiProcess ? String.format(Locale.ROOT, " %10s",
+                                thrashingProcesses(r) + "/" + r.getProcesses().size()) : "");
+            }
+            System.out.printf(Locale.ROOT, "%d runs in %.3f ms%n",
+                    sweep.getResults().size(), sweep.getElapsedNanos() / 1_000_000.0);
+        }
+        return 0;
+    }
+
+    // One run per core count and frame count, so the rows show how throughput and shootdowns scale
+    private static int multiCore(String tracePath, int[] coreCounts, int[] frames, SimulationConfig baseConfig,
+                                 String format) {
+        List<MultiCoreResult> results = new ArrayList<>();
+        try {
+            AddressTrace trace;
+            try (TraceSource source = openTrace(Path.of(tracePath))) {
+                trace = TraceParser.readAll(source);
+            }
+            for (int frameCount : frames) {
+                for (int cores : coreCounts) {
+                    results.add(new MultiCoreSimulator(baseConfig.withNumFrames(frameCount), cores).run(trace));
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Could not read trace file " + tracePath + ": " + e.getMessage());
+            return 1;
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            return 2;
+        }
+
+        if (format.equals("json")) {
+            List<String> rows = new ArrayList<>();
+            for (MultiCoreResult r : results) {
+                rows.add(String.format(Locale.ROOT,
+                        "{\"trace\":\"%s\",\"cores\":%d,\"frames\":%d,\"tlbEntries\":%d,\"requests\":%d,"
+                                + "\"faults\":%d,\"faultRate\":%.4f,\"tlbHits\":%d,\"tlbHitRate\":%.4f,"
+                                + "\"evictions\":%d,\"dirtyWriteBacks\":%d,\"contendedLocks\":%d,"
+                                + "\"shootdowns\":%d,\"shootdownInterrupts\":%d,\"averageShootdownNanos\":%.1f,"
+                                + "\"maxShootdownNanos\":%d,\"elapsedNanos\":%d,\"accessesPerSecond\":%.1f}",
+                        escapeJson(tracePath), r.getCores(), r.getNumFrames(), r.getTlbEntries(), r.getRequests(),
+                        r.getFaults(), r.getFaultRate(), r.getTlbHits(), r.getTlbHitRate(),
+                        r.getEvictions(), r.getDirtyWriteBacks(), r.getContendedLocks(),
+                        r.getShootdowns(), r.getInterrupts(), r.getAverageShootdownNanos(),
+                        r.getMaxShootdownNanos(), r.getElapsedNanos(), r.getAccessesPerSecond()));
+            }
+            System.out.println("[" + String.join(",\n", rows) + "]");
+        } else {
+            System.out.printf(Locale.ROOT, "%5s %8s %12s %10s %10s %11s %11s %12s %12s %10s %14s%n",
+                    "Cores", "Frames", "Requests", "Fault %", "TLB hit %", "Shootdowns", "IPIs",
+                    "Avg wait us", "Max wait us", "Contended", "Accesses/s");
+            for (MultiCoreResult r : results) {
+                System.out.printf(Locale.ROOT, "%5d %8d %12d %10.2f %10.2f %11d %11d %12.2f %12.2f %10d %14.0f%n",
+                        r.getCores(), r.getNumFrames(), r.getRequests(), r.getFaultRate(), r.getTlbHitRate(),
+                        r.getShootdowns(), r.getInterrupts(), r.getAverageShootdownNanos() / 1000.0,
+                        r.getMaxShootdownNanos() / 1000.0, r.getContendedLocks(), r.getAccessesPerSecond());
+            }
+        }
+        return 0;
+    }
+
+    private static int curve(String tracePath, int maxSize, SimulationConfig config, String format) {
+        StackDistanceProfile profile;
+        try (TraceSource source = openTrace(Path.of(tracePath))) {
+            AddressTrace trace = TraceParser.readAll(source);
+            profile = StackDistanceAnalyzer.analyze(StackDistanceAnalyzer.pageKeys(trace, config));
+        } catch (IOException e) {
+            System.err.println("Could not read trace file " + tracePath + ": " + e.getMessage());
+            return 1;
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            return 2;
+        }
+
+        long[] misses = profile.getMissCurve(maxSize);
+        double total = Math.max(1, profile.getTotalAccesses());
+        if (format.equals("json")) {
+            List<String> rows = new ArrayList<>();
+            for (int size = 1; size <= maxSize; size++) {
+                rows.add(String.format(Locale.ROOT, "{\"size\":%d,\"lruFaults\":%d,\"faultRate\":%.4f,\"tlbHitRate\":%.4f}",
+                        size, misses[size], misses[size] * 100.0 / total, 100.0 - misses[size] * 100.0 / total));
+            }
+            System.out.println("[" + String.join(",\n", rows) + "]");
+        } else {
+            System.out.printf(Locale.ROOT, "%8s %12s %10s %10s%n", "Size", "LRU faults", "Fault %", "TLB hit %");
+            for (int size = 1; size <= maxSize; size++) {
+                System.out.printf(Locale.ROOT, "%8d %12d %10.2f %10.2f%n",
+                        size, misses[size], misses[size] * 100.0 / total, 100.0 - misses[size] * 100.0 / total);
+            }
+        }
+        return 0;
+    }
+
+    private static int[] parseIntList(String value) {
+        String[] parts = value.split(",");
+        int[] result = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            result[i] = Integer.parseInt(parts[i].trim());
+        }
+        return result;
+    }
+
+    // "tlb,memory,fault,page-in,write-back" in nanoseconds
+    private static CostModel parseCosts(String value) {
+        String[] parts = value.split(",");
+        if (parts.length != 5) {
+            throw new IllegalArgumentException("--costs expects five latencies: <tlb,memory,fault,page-in,write-back>");
+        }
+        return new CostModel(Long.parseLong(parts[0].trim()), Long.parseLong(parts[1].trim()),
+                Long.parseLong(parts[2].trim()), Long.parseLong(parts[3].trim()), Long.parseLong(parts[4].trim()));
+    }
+
+    private static boolean parseReplacementScope(String value) {
+        return switch (value.toLowerCase(Locale.ROOT)) {
+            case "global" -> false;
+            case "local" -> true;
+            default -> throw new IllegalArgumentException("Unknown replacement scope: " + value);
+        };
+    }
+
+    // Accepts 4K / 2M / 1G style suffixes or a plain byte count
+    private static int parsePageSize(String value) {
+        String v = value.trim().toUpperCase(Locale.ROOT);
+        long multiplier = 1;
+        if (v.endsWith("K")) {
+            multiplier = 1024;
+        } else if (v.endsWith("M")) {
+            multiplier = 1024 * 1024;
+        } else if (v.endsWith("G")) {
+            multiplier = 1024 * 1024 * 1024;
+        }
+        if (multiplier != 1) {
+            v = v.substring(0, v.length() - 1);
+        }
+        long size = Long.parseLong(v) * multiplier;
+        if (size > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Page size too large: " + value);
+        }
+        return (int) size;
+    }
+
+    private static TraceSource openTrace(Path path) throws IOException {
+        if (BinaryTraceReader.isBinaryTrace(path)) {
+            return new BinaryTraceReader(path);
+        }
+        return TraceStreamReader.open(path);
+    }
+
+    private static int convert(String textPath, String binaryPath) {
+        try {
+            long records = BinaryTraceWriter.convertText(Path.of(textPath), Path.of(binaryPath));
+            System.out.println("Wrote " + records + " records to " + binaryPath);
+            return 0;
+        } catch (IOException e) {
+            System.err.println("Could not convert " + textPath + ": " + e.getMessage());
+            return 1;
+        }
+    }
+
+    private static String requireValue(String[] args, int index) {
+        if (index >= args.length) {
+            throw new IllegalArgumentException("Missing value for " + args[index - 1]);
+        }
+        return args[index];
+    }
+
+    private static void printUsage() {
+        System.err.printf(USAGE, String.join(", ", AlgorithmFactory.getAlgorithmNames()),
+                MemoryManager.DEFAULT_NUM_FRAMES, TLB.DEFAULT_MAX_ENTRIES);
+    }
+
+    private static String toText(String tracePath, SimulationResult r) {
+        return String.format(Locale.ROOT, """
+                Trace:             %s
+                Algorithm:         %s
+                Frames:            %d
+                TLB entries:       %d
+                Requests:          %d
+                Page faults:       %d (%.2f%%)
+                TLB hits:          %d (%.2f%%)
+                Page table hits:   %d
+                Evictions:         %d
+                Dirty write-backs: %d
+                Page-ins:          %d
+                Page walks:        %d
+                Walk references:   %d (%.3f per translation, %.3f per walk)
+                Levels from PWC:   %d
+                Access time:       %.1f ns effective, %.1f%% of it writing back dirty pages
+                Elapsed:           %.3f ms
+                Throughput:        %.0f accesses/s""",
+                tracePath, r.getAlgorithmName(), r.getNumFrames(), r.getTlbEntries(),
+                r.getRequests(), r.getFaults(), r.getFaultRate(), r.getTlbHits(), r.getTlbHitRate(),
+                r.getPageTableHits(), r.getEvictions(), r.getDirtyWriteBacks(), r.getPageIns(),
+                r.getPageWalks(), r.getWalkReferences(), r.getReferencesPerTranslation(), r.getReferencesPerWalk(),
+                r.getSkippedWalkLevels(), r.getEffectiveAccessNanos(), r.getWriteBackTimePercent(),
+                r.getElapsedNanos() / 1_000_000.0, r.getAccessesPerSecond());
+    }
+
+    private static String toJson(String tracePath, SimulationResult r) {
+        return String.format(Locale.ROOT,
+                "{\"trace\":\"%s\",\"algorithm\":\"%s\",\"frames\":%d,\"tlbEntries\":%d,"
+                        + "\"requests\":%d,\"faults\":%d,\"faultRate\":%.4f,\"tlbHits\":%d,\"tlbHitRate\":%.4f,"
+                        + "\"pageTableHits\":%d,\"evictions\":%d,\"dirtyWriteBacks\":%d,\"pageIns\":%d,"
+                        + "\"pageWalks\":%d,\"walkReferences\":%d,\"referencesPerTranslation\":%.4f,"
+                        + "\"skippedWalkLevels\":%d,\"effectiveAccessNanos\":%.2f,\"writeBackTimePercent\":%.2f,"
+                        + "\"l1TlbHits\":%d,\"l1TlbMisses\":%d,\"stlbHits\":%d,\"stlbMisses\":%d,\"tlbPromotions\":%d,"
+                        + "\"hugePagePromotions\":%d,\"hugePageSplits\":%d,\"hugeTlbHits\":%d,\"tlbReachPages\":%d,"
+                        + "\"residentSet\":\"%s\",\"averageResidentPages\":%.2f,\"peakResidentPages\":%d,\"releasedPages\":%d,"
+                        + "\"contextSwitches\":%d,\"tlbFlushes\":%d,\"flushedTlbEntries\":%d,\"processes\":[%s],"
+                        + "\"elapsedNanos\":%d,\"accessesPerSecond\":%.1f}",
+                escapeJson(tracePath), escapeJson(r.getAlgorithmName()), r.getNumFrames(), r.getTlbEntries(),
+                r.getRequests(), r.getFaults(), r.getFaultRate(), r.getTlbHits(), r.getTlbHitRate(),
+                r.getPageTableHits(), r.getEvictions(), r.getDirtyWriteBacks(), r.getPageIns(),
+                r.getPageWalks(), r.getWalkReferences(), r.getReferencesPerTranslation(),
+                r.getSkippedWalkLevels(), r.getEffectiveAccessNanos(), r.getWriteBackTimePercent(),
+                r.getL1TlbHits(), r.getL1TlbMisses(), r.getStlbHits(), r.getStlbMisses(), r.getTlbPromotions(),
+                r.getHugePagePromotions(), r.getHugePageSplits(), r.getHugeTlbHits(), r.getTlbReachPages(),
+                r.getResidentSetMode(), r.getAverageResidentPages(), r.getPeakResidentPages(), r.getReleasedPages(),
+                r.getContextSwitches(), r.getTlbFlushes(), r.getFlushedTlbEntries(), processJson(r),
+                r.getElapsedNanos(), r.getAccessesPerSecond());
+    }
+
+    private static String processJson(SimulationResult r) {
+        List<String> rows = new ArrayList<>();
+        for (ProcessStats p : r.getProcesses()) {
+            rows.add(String.format(Locale.ROOT,
+                    "{\"pid\":%d,\"requests\":%d,\"faults\":%d,\"faultRate\":%.4f,\"tlbHits\":%d,"
+                            + "\"evictedPages\":%d,\"stolenPages\":%d,\"peakResidentPages\":%d,"
+                            + "\"windows\":%d,\"thrashingWindows\":%d,\"thrashing\":%b}",
+                    p.getPid(), p.getRequests(), p.getFaults(), p.getFaultRate(), p.getTlbHits(),
+                    p.getEvictedPages(), p.getStolenPages(), p.getPeakResidentPages(),
+                    p.getWindows(), p.getThrashingWindows(), p.isThrashing()));
+        }
+        return String.join(",", rows);
+    }
+
+    // "Context switches:  420, 420 TLB flushes discarding 6120 entries"
+    // "Process 1:         5000 requests, 812 faults (16.24%), 96 pages stolen, peak 12 resident, thrashing in 2 of 5 windows"
+    private static String processText(SimulationResult r) {
+        String text = String.format(Locale.ROOT, "Context switches:  %d", r.getContextSwitches());
+        if (r.getTlbFlushes() > 0) {
+            text += String.format(Locale.ROOT, ", %d TLB flushes discarding %d entries",
+                    r.getTlbFlushes(), r.getFlushedTlbEntries());
+        }
+        for (ProcessStats p : r.getProcesses()) {
+            text += String.format(Locale.ROOT,
+                    "%n%-19s%d requests, %d faults (%.2f%%), %d pages stolen, peak %d resident, thrashing in %d of %d windows",
+                    "Process " + p.getPid() + ":", p.getRequests(), p.getFaults(), p.getFaultRate(),
+                    p.getStolenPages(), p.getPeakResidentPages(), p.getThrashingWindows(), p.getWindows());
+        }
+        return text;
+    }
+
+    private static int thrashingProcesses(SimulationResult r) {
+        int count = 0;
+        for (ProcessStats p : r.getProcesses()) {
+            if (p.isThrashing()) count++;
+        }
+        return count;
+    }
+
+    // "Resident set:      WS(1000), 21.4 pages on average, peak 32, 5120 pages released"
+    private static String residentSetText(SimulationResult r) {
+        return String.format(Locale.ROOT, "Resident set:      %s, %.1f pages on average, peak %d, %d pages released",
+                r.getResidentSetMode(), r.getAverageResidentPages(), r.getPeakResidentPages(), r.getReleasedPages());
+    }
+
+    private static String tlbLevelText(SimulationResult r, SimulationConfig config) {
+        String text = String.format(Locale.ROOT, "L1 TLB:            %d hits, %d misses (%.2f%% hit)",
+                r.getL1TlbHits(), r.getL1TlbMisses(), percent(r.getL1TlbHits(), r.getL1TlbHits() + r.getL1TlbMisses()));
+        if (r.getStlbEntries() > 0) {
+            text += String.format(Locale.ROOT, "%nSTLB:              %d hits, %d misses (%.2f%% hit), %d promotions to L1",
+                    r.getStlbHits(), r.getStlbMisses(), percent(r.getStlbHits(), r.getStlbHits() + r.getStlbMisses()),
+                    r.getTlbPromotions());
+        }
+        text += String.format(Locale.ROOT, "%nL1 TLB reach:      %d pages (%d KB)",
+                r.getTlbReachPages(), r.getTlbReachPages() * config.getPageSize() / 1024);
+        if (config.getHugePageThreshold() > 0) {
+            text += String.format(Locale.ROOT, "%nHuge pages:        %d promotions, %d splits, %d TLB hits on huge entries",
+                    r.getHugePagePromotions(), r.getHugePageSplits(), r.getHugeTlbHits());
+        }
+        return text;
+    }
+
+    private static double percent(long part, long total) {
+        return (total == 0) ? 0.0 : part * 100.0 / total;
+    }
+
+    // "Walk depths: 0 x 812 (TLB hit), 1 x 3, 4 x 185"
+    private static String walkDepthText(MemoryManager memoryManager) {
+        long[] counts = memoryManager.getWalkDepthCounts();
+        StringBuilder sb = new StringBuilder("Walk depths:       ");
+        String separator = "";
+        for (int depth = 0; depth < counts.length; depth++) {
+            if (counts[depth] == 0) continue;
+            sb.append(separator).append(depth).append(" x ").append(counts[depth]);
+            if (depth == 0) sb.append(" (TLB hit)");
+            separator = ", ";
+        }
+        return sb.toString();
+    }
+
+    private static String escapeJson(String s) {
+        StringBuilder sb = new StringBuilder(s.length());
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '"' -> sb.append("\\\"");
+                case '\\' -> sb.append("\\\\");
+                default -> {
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+                }
+            }
+        }
+        return sb.toString();
+    }
+}
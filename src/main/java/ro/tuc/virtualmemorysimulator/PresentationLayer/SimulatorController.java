@@ -204,7 +204,7 @@ public class SimulatorController {
 
     @FXML
     public void initialize() {
-        algorithmChoice.getItems().setAll("FIFO", "LRU", "Optimal");
+        algorithmChoice.getItems().setAll(AlgorithmFactory.getAlgorithmNames());
         algorithmChoice.setValue("LRU");
         resetBreakdownLabels();
 
@@ -323,12 +323,7 @@ public class SimulatorController {
             return;
         }
 
-        final Algorithm algorithm = switch (choice) {
-            case "FIFO" -> new FIFOAlgorithm();
-            case "LRU" -> new LRUAlgorithm();
-            case "Optimal" -> new OptimalAlgorithm();
-            default -> null;
-        };
+        final Algorithm algorithm = AlgorithmFactory.create(choice);
         if (algorithm == null) {
             statusLabel.setText("Unknown algorithm selected.");
             return;
@@ -414,7 +409,7 @@ public class SimulatorController {
         stepStage = StepStage.BREAKDOWN;
 
         updateDirectoryTable();
-        updatePageTable(memoryManager.getDirectoryIndex(trace.get(31)));
+        updatePageTable((int) memoryManager.getDirectoryIndex(trace.get(31)));
         updateTlbTable();
         updateFrameTable();
         updateStats();
@@ -448,7 +443,7 @@ public class SimulatorController {
         resetBreakdownLabels();
         updateCurrentInstructionLabels();
         updateDirectoryTable();
-        updatePageTable(memoryManager.getDirectoryIndex(currentVA));
+        updatePageTable((int) memoryManager.getDirectoryIndex(currentVA));
         updateTlbTable();
         updateFrameTable();
         updateStats();
@@ -480,14 +475,14 @@ public class SimulatorController {
             case NONE, BREAKDOWN -> {
                 updateAddressBreakdown(currentVA);
                 updateDirectoryTable();
-                updatePageTable(memoryManager.getDirectoryIndex(currentVA));
+                updatePageTable((int) memoryManager.getDirectoryIndex(currentVA));
                 updateTlbTable();
                 updateFrameTable();
                 updateStats();
 
-                int dir = memoryManager.getDirectoryIndex(currentVA);
+                int dir = (int) memoryManager.getDirectoryIndex(currentVA);
                 int tab = memoryManager.getTableIndex(currentVA);
-                int vpn = memoryManager.computeVpnPublic(currentVA);
+                long vpn = memoryManager.computeVpnPublic(currentVA);
 
                 String op = isWrite ? "WRITE (store)" : "READ (load)";
 
@@ -495,16 +490,16 @@ public class SimulatorController {
                         "The instruction has been decoded.\n" +
                                 "This is a " + op + " instruction.\n" +
                                 "VPN is computed as:\n" +
-                                "VPN = (dirIndex << 10) | tableIndex\n" +
-                                String.format("=> VPN = (%d << 10) | %d = %d (0x%X)",
-                                        dir, tab, vpn, vpn) +
+                                "VPN = (dirIndex << " + memoryManager.getConfig().getTableBits() + ") | tableIndex\n" +
+                                String.format("=> VPN = (%d << %d) | %d = %d (0x%X)",
+                                        dir, memoryManager.getConfig().getTableBits(), tab, vpn, vpn) +
                                 "\nPress Step to search the VPN in the TLB."
                 );
                 stepStage = StepStage.TLB_SEARCH;
             }
 
             case TLB_SEARCH -> {
-                int vpn = memoryManager.computeVpnPublic(currentVA);
+                long vpn = memoryManager.computeVpnPublic(currentVA);
                 statusLabel.setText(
                         String.format(
                                 "TLB lookup: VPN %d (0x%X) will be searched in the TLB.\nPress Step to see the result.",
@@ -515,10 +510,10 @@ public class SimulatorController {
             }
 
             case TLB_RESULT -> {
-                int vpn = memoryManager.computeVpnPublic(currentVA);
-                Integer frame = memoryManager.getTlb().lookup(vpn);
+                long vpn = memoryManager.computeVpnPublic(currentVA);
+                int frame = memoryManager.getTlb().peek(vpn);
 
-                if (frame == null) {
+                if (frame == TLB.MISS) {
                     statusLabel.setText(
                             "TLB Miss. This VPN is not present in the TLB.\n" +
                                     "Press Step to perform the full address translation."
@@ -538,22 +533,22 @@ public class SimulatorController {
             case EXECUTE -> {
 
                 boolean wasWrite = isWriteList.get(currentIndex);
-                int vpn = memoryManager.computeVpnPublic(currentVA);
+                long vpn = memoryManager.computeVpnPublic(currentVA);
 
-                int faultsBefore = memoryManager.getTotalFaults();
+                long faultsBefore = memoryManager.getTotalFaults();
                 memoryManager.clearLastEvictedFrame();
                 memoryManager.clearLastAccessType();
 
                 memoryManager.step(currentIndex, wasWrite);
 
-                int faultsAfter = memoryManager.getTotalFaults();
+                long faultsAfter = memoryManager.getTotalFaults();
                 boolean pageFaultOccurred = (faultsAfter > faultsBefore);
                 Integer evictedFrame = memoryManager.getLastEvictedFrame();
-                Integer victimVpn = memoryManager.getLastVictimVpn();
-                String accessType = memoryManager.getLastAccessType();
+                Long victimVpn = memoryManager.getLastVictimVpn();
+                AccessType accessType = memoryManager.getLastAccessType();
 
                 updateDirectoryTable();
-                updatePageTable(memoryManager.getDirectoryIndex(currentVA));
+                updatePageTable((int) memoryManager.getDirectoryIndex(currentVA));
                 updateTlbTable();
                 updateFrameTable();
                 updateStats();
@@ -581,12 +576,12 @@ public class SimulatorController {
 
                 StringBuilder sb = new StringBuilder();
 
-                if ("TLB_HIT".equals(accessType)) {
+                if (accessType == AccessType.TLB_HIT) {
                     //sb.append("✓ TLB HIT!\n");
                     sb.append(String.format("VPN %d (0x%05X) found in TLB → Direct access to frame.\n", vpn, vpn));
                     sb.append("No page table walk required. Fast path!\n");
 
-                } else if ("PAGE_TABLE_HIT".equals(accessType)) {
+                } else if (accessType == AccessType.PAGE_TABLE_HIT) {
                     sb.append("TLB MISS, but PAGE TABLE HIT!\n");
                     sb.append(String.format("VPN %d (0x%05X) was not in TLB, but found in page table.\n", vpn, vpn));
                     sb.append("Performed page table walk (slower than TLB hit).\n");
@@ -673,7 +668,7 @@ public class SimulatorController {
         resetBreakdownLabels();
         updateDirectoryTable();
         if (currentVA != null) {
-            updatePageTable(memoryManager.getDirectoryIndex(currentVA));
+            updatePageTable((int) memoryManager.getDirectoryIndex(currentVA));
         } else {
             pageTableTable.getItems().clear();
         }
@@ -693,50 +688,41 @@ public class SimulatorController {
         List<Integer> result = new ArrayList<>();
         isWriteList.clear();
 
-        if (input == null)
-            return result;
-
-        String[] tokens = input.split("[,\\s]+");
-        for (String token : tokens) {
-            if (token.isBlank()) continue;
-
-            String[] parts = token.split(":");
-            if (parts.length != 2) continue;
-
-            try {
-                long value = Long.parseLong(parts[0], 16);
-                int va = (int)(value & 0xFFFFFFFFL);
-                result.add(va);
-            } catch (NumberFormatException ignore) {
-                continue;
-            }
-
-            boolean isWrite = parts[1].equalsIgnoreCase("W");
-            isWriteList.add(isWrite);
+        AddressTrace parsed = TraceParser.parse(input);
+        for (int i = 0; i < parsed.size(); i++) {
+            result.add((int) parsed.getAddress(i)); // the step-by-step view uses 32-bit addresses
+            isWriteList.add(parsed.isWrite(i));
         }
 
         return result;
     }
 
     private void updateAddressBreakdown(int virtualAddress) {
-        int dir = (virtualAddress >>> 22) & 0x3FF;
-        int tab = (virtualAddress >>> 12) & 0x3FF;
-        int off = virtualAddress & 0xFFF;
+        SimulationConfig config = memoryManager.getConfig();
+        int dir = (int) memoryManager.getDirectoryIndex(virtualAddress);
+        int tab = memoryManager.getTableIndex(virtualAddress);
+        int off = memoryManager.getOffset(virtualAddress);
 
         // binary
-        dirBitsLabel.setText(String.format("%10s", Integer.toBinaryString(dir)).replace(' ', '0'));
-        tabBitsLabel.setText(String.format("%10s", Integer.toBinaryString(tab)).replace(' ', '0'));
-        offsetBitsLabel.setText(String.format("%12s", Integer.toBinaryString(off)).replace(' ', '0'));
+        dirBitsLabel.setText(toBinary(dir, config.getDirectoryBits()));
+        tabBitsLabel.setText(toBinary(tab, config.getTableBits()));
+        offsetBitsLabel.setText(toBinary(off, config.getOffsetBits()));
 
         // hex
         dirHexLabel.setText(String.format("0x%03X", dir)); // up to 0x3FF
         tabHexLabel.setText(String.format("0x%03X", tab)); // up to 0x3FF
         offsetHexLabel.setText(String.format("0x%03X", off)); // up to 0xFFF
 
-        int vpn = memoryManager.computeVpnPublic(virtualAddress);
+        long vpn = memoryManager.computeVpnPublic(virtualAddress);
         vpnLabel.setText(String.format("VPN: %d (0x%05X)", vpn, vpn));
     }
 
+    // Zero-padded to the field width; empty fields (0 bits) are shown as "-"
+    private static String toBinary(int value, int bits) {
+        if (bits == 0) return "-";
+        return String.format("%" + bits + "s", Integer.toBinaryString(value)).replace(' ', '0');
+    }
+
     private void resetBreakdownLabels() {
         dirBitsLabel.setText("[none]");
         tabBitsLabel.setText("[none]");
@@ -787,7 +773,7 @@ public class SimulatorController {
             if (entry == null)
                 continue;
 
-            PageTableRow row = new PageTableRow(i, entry, dirIndex);
+            PageTableRow row = new PageTableRow(i, entry, dirIndex, memoryManager.getConfig().getTableBits());
             pageTableTable.getItems().add(row);
         }
 
@@ -812,8 +798,8 @@ public class SimulatorController {
         frameTable.getItems().clear();
 
         for (Frame f : memoryManager.getFrames()) {
-            Integer vpnValue = (f.getCurrentPage() != null)
-                    ? f.getCurrentPage().getPageId()
+            Long vpnValue = !f.isFree()
+                    ? f.getVpn()
                     : null;
 
             frameTable.getItems().add(new FrameRow(f.getFrameId(), vpnValue));
@@ -860,20 +846,26 @@ public class SimulatorController {
     }
 
     private void updateConfigurationInfo() {
+        SimulationConfig config = memoryManager.getConfig();
         String text = String.format("""
         • Address Size: 32-bit (4 GB virtual space)
-        • Page Size: 4096 bytes (4 KB)
-        • Offset Bits: 12
-        • Page Table Entries: 1024
-        • Directory Entries: 1024
-        • VPN Bits: 20 (10 + 10)
+        • Page Size: %d bytes (%d KB)
+        • Offset Bits: %d
+        • Page Table Entries: %d
+        • Directory Entries: %d
+        • VPN Bits: %d (%d + %d)
         • Physical Frames: %d
         • Physical Memory Size: %d KB
         • TLB Entries: %d
         • Page Replacement Algorithm: %s
         """,
+                config.getPageSize(), config.getPageSize() / 1024,
+                config.getOffsetBits(),
+                config.getTableEntries(),
+                config.getDirectoryEntries(),
+                config.getDirectoryBits() + config.getTableBits(), config.getDirectoryBits(), config.getTableBits(),
                 memoryManager.getNumFrames(),
-                memoryManager.getNumFrames() * 4, // n frames * 4 KB
+                config.getPhysicalMemoryBytes() / 1024,
                 memoryManager.getTlb().getMaxEntries(),
                 (memoryManager != null ? memoryManager.getAlgorithmName() : "[none]")
         );
@@ -897,21 +889,23 @@ public class SimulatorController {
     }
 
     public static class PageTableRow {
-        private final int index; // page table index (0–1023)
+        private final int index; // page table index (0–1023 with the default split)
         private final Page entry;
         private final int dirIndex;
+        private final int tableBits;
 
-        public PageTableRow(int index, Page entry, int dirIndex) {
+        public PageTableRow(int index, Page entry, int dirIndex, int tableBits) {
             this.index = index;
             this.entry = entry;
             this.dirIndex = dirIndex;
+            this.tableBits = tableBits;
         }
 
         public int getIndex() { return index; }
         public Page getEntry() { return entry; }
 
         public int getVpn() {
-            return (dirIndex << 10) | index; // VPN = (DIR << 10) | TABLE
+            return (dirIndex << tableBits) | index; // VPN = (DIR << tableBits) | TABLE
         }
     }
 
@@ -930,7 +924,7 @@ public class SimulatorController {
         final String frameId;
         final String vpn;
 
-        public FrameRow(int frameId, Integer vpnValue) {
+        public FrameRow(int frameId, Long vpnValue) {
             this.frameId = String.valueOf(frameId);
 
             if (vpnValue == null || vpnValue < 0) {
@@ -0,0 +1,31 @@
+package ro.tuc.virtualmemorysimulator.BusinessLogic;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+class ARCAlgorithmTest {
+
+    private static final long H = TestTraces.HIT;
+    private static final long F = TestTraces.FAULT_INTO_FREE_FRAME;
+
+    @Test
+    void ghostHitInB1GrowsTheTargetSizeOfT1() {
+        // 2 frames, p = 0. After 1 2 1: T1 = [2], T2 = [1]. 3 evicts 2 from T1 (|T1| > p) into B1.
+        // 2 is a B1 ghost hit: p becomes 1, so |T1| = p and the victim comes from T2 (1), not T1 (3).
+        long[] outcomes = TestTraces.replayPages(new ARCAlgorithm(), 2, 1, 2, 1, 3, 2);
+        assertArrayEquals(new long[] {F, F, H, 2, 1}, outcomes);
+    }
+
+    @Test
+    void ghostHitInB2ShrinksTheTargetSizeOfT1() {
+        // 2 frames. Up to the fifth access as above: p = 1, T1 = [3], T2 = [2], B2 = [1].
+        // 1 (B2 hit): p = 0, evicts 3 from T1.     T2 = [1, 2], B1 = [3]
+        // 3 (B1 hit): p = 1, T1 is empty: evicts 2. T2 = [3, 1], B2 = [2]
+        // 4 (new):    T1 is empty: evicts 1.        T1 = [4], T2 = [3], B2 = [1, 2]
+        // 1 (B2 hit): p = 0, so |T1| > p and 4 goes. Had B2 hits not shrunk p, it would be 2 by now
+        //             and 3 would go from T2 instead
+        long[] outcomes = TestTraces.replayPages(new ARCAlgorithm(), 2, 1, 1, 2, 3, 2, 1, 3, 4, 1);
+        assertArrayEquals(new long[] {F, H, F, 2, 1, 3, 2, 1, 4}, outcomes);
+    }
+}
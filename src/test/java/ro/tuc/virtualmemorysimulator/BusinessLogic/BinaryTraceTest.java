@@ -0,0 +1,144 @@
+package ro.tuc.virtualmemorysimulator.BusinessLogic;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ro.tuc.virtualmemorysimulator.Model.AddressTrace;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BinaryTraceTest {
+
+    // More than one conversion chunk
+    private static final int LENGTH = 70_000;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void convertedTraceReadsBackLikeTheText() throws IOException {
+        long[] addresses = TestTraces.addresses(LENGTH, 24, 200, 5);
+        boolean[] writes = TestTraces.writes(LENGTH, 30, 6);
+        AddressTrace binary = roundTrip(addresses, writes, null);
+
+        assertArrayEquals(addresses, binary.getAddresses());
+        assertArrayEquals(writes, binary.getWrites());
+    }
+
+    @Test
+    void addressesAbove32BitsUseWideRecords() throws IOException {
+        long[] addresses = TestTraces.addresses(LENGTH, 24, 200, 7);
+        for (int i = 0; i < LENGTH; i += 3) {
+            addresses[i] |= 0x7FFF_0000_0000L;
+        }
+        boolean[] writes = TestTraces.writes(LENGTH, 30, 8);
+        AddressTrace binary = roundTrip(addresses, writes, null);
+
+        assertArrayEquals(addresses, binary.getAddresses());
+        assertArrayEquals(writes, binary.getWrites());
+        try (BinaryTraceReader reader = new BinaryTraceReader(dir.resolve("trace.bin"))) {
+            assertTrue(reader.isWideAddresses());
+            assertEquals(LENGTH, reader.size());
+            assertEquals(addresses[LENGTH - 1], reader.getAddress(LENGTH - 1));
+            assertEquals(writes[LENGTH - 1], reader.isWrite(LENGTH - 1));
+        }
+    }
+
+    @Test
+    void processIdsSurviveTheConversion() throws IOException {
+        long[] addresses = TestTraces.addresses(LENGTH, 24, 200, 9);
+        boolean[] writes = TestTraces.writes(LENGTH, 30, 10);
+        int[] pids = new int[LENGTH];
+        for (int i = 0; i < LENGTH; i++) {
+            pids[i] = (i / 100) % (BinaryTraceFormat.MAX_PID + 1);
+        }
+        AddressTrace binary = roundTrip(addresses, writes, pids);
+
+        assertArrayEquals(addresses, binary.getAddresses());
+        assertArrayEquals(writes, binary.getWrites());
+        assertArrayEquals(pids, binary.getPids());
+        try (BinaryTraceReader reader = new BinaryTraceReader(dir.resolve("trace.bin"))) {
+            assertFalse(reader.isWideAddresses());
+        }
+    }
+
+    @Test
+    void versionOneFilesStillReadAndNewerVersionsAreRejected() throws IOException {
+        long[] addresses = TestTraces.addresses(1000, 24, 200, 11);
+        boolean[] writes = TestTraces.writes(1000, 30, 12);
+        roundTrip(addresses, writes, null);
+        Path binaryTrace = dir.resolve("trace.bin");
+
+        setVersion(binaryTrace, 1);
+        try (BinaryTraceReader reader = new BinaryTraceReader(binaryTrace)) {
+            AddressTrace trace = TraceParser.readAll(reader);
+            assertArrayEquals(addresses, trace.getAddresses());
+            assertArrayEquals(writes, trace.getWrites());
+        }
+
+        setVersion(binaryTrace, BinaryTraceFormat.VERSION + 1);
+        assertThrows(IOException.class, () -> new BinaryTraceReader(binaryTrace).close());
+        setVersion(binaryTrace, 0);
+        assertThrows(IOException.class, () -> new BinaryTraceReader(binaryTrace).close());
+    }
+
+    @Test
+    void recordCountsOverflowingTheFileSizeAreRejected() throws IOException {
+        long[] addresses = TestTraces.addresses(1000, 24, 200, 13);
+        boolean[] writes = TestTraces.writes(1000, 30, 14);
+        roundTrip(addresses, writes, null);
+        Path binaryTrace = dir.resolve("trace.bin");
+
+        // count * RECORD_SIZE wraps around to 4 bytes, which the file easily holds
+        long count = Long.divideUnsigned(-1L, BinaryTraceFormat.RECORD_SIZE) + 1;
+        assertEquals(4, count * BinaryTraceFormat.RECORD_SIZE);
+        setCount(binaryTrace, count);
+        assertThrows(IOException.class, () -> new BinaryTraceReader(binaryTrace).close());
+        setCount(binaryTrace, Long.MAX_VALUE);
+        assertThrows(IOException.class, () -> new BinaryTraceReader(binaryTrace).close());
+    }
+
+    // The u16 version follows the magic
+    private static void setVersion(Path binaryTrace, int version) throws IOException {
+        byte[] bytes = Files.readAllBytes(binaryTrace);
+        ByteBuffer.wrap(bytes).order(BinaryTraceFormat.BYTE_ORDER)
+                .putShort(BinaryTraceFormat.MAGIC.length, (short) version);
+        Files.write(binaryTrace, bytes);
+    }
+
+    private static void setCount(Path binaryTrace, long count) throws IOException {
+        byte[] bytes = Files.readAllBytes(binaryTrace);
+        ByteBuffer.wrap(bytes).order(BinaryTraceFormat.BYTE_ORDER).putLong(BinaryTraceFormat.COUNT_OFFSET, count);
+        Files.write(binaryTrace, bytes);
+    }
+
+    // Writes the trace as text, checks the text parser, converts it and reads the binary file back
+    private AddressTrace roundTrip(long[] addresses, boolean[] writes, int[] pids) throws IOException {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < addresses.length; i++) {
+            if (pids != null) text.append(pids[i]).append(':');
+            text.append(Long.toHexString(addresses[i])).append(writes[i] ? ":W\n" : ":R\n");
+        }
+        Path textTrace = dir.resolve("trace.txt");
+        Path binaryTrace = dir.resolve("trace.bin");
+        Files.writeString(textTrace, text);
+
+        AddressTrace parsed = TraceParser.read(textTrace);
+        assertArrayEquals(addresses, parsed.getAddresses());
+        assertArrayEquals(writes, parsed.getWrites());
+
+        assertEquals(addresses.length, BinaryTraceWriter.convertText(textTrace, binaryTrace));
+        assertTrue(BinaryTraceReader.isBinaryTrace(binaryTrace));
+        try (BinaryTraceReader reader = new BinaryTraceReader(binaryTrace)) {
+            return TraceParser.readAll(reader);
+        }
+    }
+}
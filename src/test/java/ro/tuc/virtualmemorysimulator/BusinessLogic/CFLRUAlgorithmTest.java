@@ -0,0 +1,60 @@
+package ro.tuc.virtualmemorysimulator.BusinessLogic;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+class CFLRUAlgorithmTest {
+
+    private static final int LENGTH = 20_000;
+
+    @Test
+    void evictsTheSamePagesAsAWindowScanOfTheLruList() {
+        long[] addresses = TestTraces.addresses(LENGTH, 24, 200, 17);
+        boolean[] writes = TestTraces.writes(LENGTH, 40, 18);
+        for (int windowPercent : new int[] {0, CFLRUAlgorithm.DEFAULT_WINDOW_PERCENT, 100}) {
+            for (int frames : new int[] {1, 8, 32, 100}) {
+                SimulationConfig config = SimulationConfig.defaultConfig().withNumFrames(frames);
+                long[] cflru = TestTraces.replay(new CFLRUAlgorithm(windowPercent), config, addresses, writes);
+                assertArrayEquals(windowScan(addresses, writes, frames, windowPercent), cflru,
+                        frames + " frames, " + windowPercent + "% window");
+            }
+        }
+    }
+
+    // The LRU list as a plain list (most recent first): a fault scans the window at its end for a clean page
+    private static long[] windowScan(long[] addresses, boolean[] writes, int numFrames, int windowPercent) {
+        int window = Math.max(1, numFrames * windowPercent / 100);
+        List<Long> recency = new ArrayList<>();
+        Set<Long> dirty = new HashSet<>();
+        long[] outcomes = new long[addresses.length];
+        for (int i = 0; i < addresses.length; i++) {
+            long vpn = addresses[i] >>> 12;
+            if (recency.remove(vpn)) {
+                outcomes[i] = TestTraces.HIT;
+            } else if (recency.size() < numFrames) {
+                outcomes[i] = TestTraces.FAULT_INTO_FREE_FRAME;
+            } else {
+                long victim = recency.get(recency.size() - 1);
+                for (int n = 0; n < window; n++) {
+                    long candidate = recency.get(recency.size() - 1 - n);
+                    if (!dirty.contains(candidate)) {
+                        victim = candidate;
+                        break;
+                    }
+                }
+                recency.remove(victim);
+                dirty.remove(victim);
+                outcomes[i] = victim;
+            }
+            recency.add(0, vpn);
+            if (writes[i]) dirty.add(vpn);
+        }
+        return outcomes;
+    }
+}
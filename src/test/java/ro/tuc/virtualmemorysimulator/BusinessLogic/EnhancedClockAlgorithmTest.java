@@ -0,0 +1,90 @@
+package ro.tuc.virtualmemorysimulator.BusinessLogic;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+class EnhancedClockAlgorithmTest {
+
+    private static final int LENGTH = 20_000;
+
+    @Test
+    void evictsTheSamePagesAsAScanOverTheFrames() {
+        long[] addresses = TestTraces.addresses(LENGTH, 24, 200, 15);
+        for (int writePercent : new int[] {0, 30, 90}) {
+            boolean[] writes = TestTraces.writes(LENGTH, writePercent, 16);
+            for (int frames : new int[] {1, 8, 32, 100}) {
+                SimulationConfig config = SimulationConfig.defaultConfig().withNumFrames(frames);
+                long[] lists = TestTraces.replay(new EnhancedClockAlgorithm(), config, addresses, writes);
+                assertArrayEquals(scan(addresses, writes, frames), lists, frames + " frames, " + writePercent + "% writes");
+            }
+        }
+    }
+
+    // The first (0,0) frame from the hand, found without moving it; otherwise the hand clears referenced
+    // bits up to the first unreferenced frame, unless a whole turn produced a (0,0) frame
+    private static long[] scan(long[] addresses, boolean[] writes, int numFrames) {
+        long[] vpnOf = new long[numFrames];
+        Arrays.fill(vpnOf, -1);
+        boolean[] referenced = new boolean[numFrames];
+        boolean[] dirty = new boolean[numFrames];
+        Map<Long, Integer> frameOf = new HashMap<>();
+        int hand = 0;
+        long[] outcomes = new long[addresses.length];
+        for (int i = 0; i < addresses.length; i++) {
+            long vpn = addresses[i] >>> 12;
+            Integer resident = frameOf.get(vpn);
+            if (resident != null) {
+                referenced[resident] = true;
+                dirty[resident] |= writes[i];
+                outcomes[i] = TestTraces.HIT;
+                continue;
+            }
+            int frame = firstFree(vpnOf);
+            if (frame >= 0) {
+                outcomes[i] = TestTraces.FAULT_INTO_FREE_FRAME;
+            } else {
+                frame = firstClean(referenced, dirty, hand);
+                if (frame < 0) {
+                    int passed = 0;
+                    while (referenced[hand]) {
+                        referenced[hand] = false;
+                        hand = (hand + 1) % numFrames;
+                        passed++;
+                    }
+                    if (passed >= numFrames) frame = firstClean(referenced, dirty, hand);
+                    if (frame < 0) {
+                        frame = hand;
+                        hand = (hand + 1) % numFrames;
+                    }
+                }
+                outcomes[i] = vpnOf[frame];
+                frameOf.remove(vpnOf[frame]);
+            }
+            vpnOf[frame] = vpn;
+            frameOf.put(vpn, frame);
+            referenced[frame] = true;
+            dirty[frame] = writes[i];
+        }
+        return outcomes;
+    }
+
+    private static int firstClean(boolean[] referenced, boolean[] dirty, int hand) {
+        for (int n = 0; n < referenced.length; n++) {
+            int frame = (hand + n) % referenced.length;
+            if (!referenced[frame] && !dirty[frame]) return frame;
+        }
+        return -1;
+    }
+
+    private static int firstFree(long[] vpnOf) {
+        for (int frame = 0; frame < vpnOf.length; frame++) {
+            if (vpnOf[frame] < 0) return frame;
+        }
+        return -1;
+    }
+}
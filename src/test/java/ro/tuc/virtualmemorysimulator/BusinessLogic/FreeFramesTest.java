@@ -0,0 +1,74 @@
+package ro.tuc.virtualmemorysimulator.BusinessLogic;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class FreeFramesTest {
+
+    @Test
+    void allocatesTheLowestFreeFrameAcrossWordBoundaries() {
+        FreeFrames free = new FreeFrames(new int[] {0, 130});
+        for (int frame = 0; frame < 130; frame++) {
+            assertEquals(frame, free.allocate(0));
+        }
+        assertEquals(-1, free.allocate(0));
+
+        // Freed out of order, handed back lowest first, including below the scan hint
+        free.free(0, 129);
+        free.free(0, 64);
+        free.free(0, 63);
+        assertEquals(63, free.allocate(0));
+        assertEquals(64, free.allocate(0));
+        assertEquals(129, free.allocate(0));
+        assertEquals(-1, free.allocate(0));
+    }
+
+    @Test
+    void freedFrameIsReallocatedBeforeUnusedOnes() {
+        FreeFrames free = new FreeFrames(new int[] {0, 100});
+        for (int frame = 0; frame < 70; frame++) {
+            free.allocate(0);
+        }
+        free.free(0, 5);
+        assertEquals(5, free.allocate(0));
+        assertEquals(70, free.allocate(0));
+    }
+
+    @Test
+    void partitionsSharingAWordOnlyTakeTheirOwnFrames() {
+        // Partition 1 starts and ends inside words 0 and 1; partition 2 ends inside word 2
+        int[] partitionStart = {0, 50, 100, 170};
+        FreeFrames free = new FreeFrames(partitionStart);
+        for (int i = 0; i < 70; i++) {
+            for (int p = 0; p < 3; p++) {
+                int expected = partitionStart[p] + i;
+                assertEquals((expected < partitionStart[p + 1]) ? expected : -1, free.allocate(p),
+                        "partition " + p + ", allocation " + i);
+            }
+        }
+
+        free.free(1, 60);
+        free.free(1, 99);
+        assertEquals(-1, free.allocate(0));
+        assertEquals(-1, free.allocate(2));
+        assertEquals(60, free.allocate(1));
+        assertEquals(99, free.allocate(1));
+        assertEquals(-1, free.allocate(1));
+    }
+
+    @Test
+    void exhaustedPartitionStaysEmptyUntilReset() {
+        FreeFrames free = new FreeFrames(new int[] {0, 3, 200});
+        for (int frame = 0; frame < 3; frame++) {
+            assertEquals(frame, free.allocate(0));
+        }
+        assertEquals(-1, free.allocate(0));
+        assertEquals(-1, free.allocate(0));
+        assertEquals(3, free.allocate(1));
+
+        free.reset();
+        assertEquals(0, free.allocate(0));
+        assertEquals(3, free.allocate(1));
+    }
+}
@@ -0,0 +1,30 @@
+package ro.tuc.virtualmemorysimulator.BusinessLogic;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+class LIRSAlgorithmTest {
+
+    private static final long H = TestTraces.HIT;
+    private static final long F = TestTraces.FAULT_INTO_FREE_FRAME;
+
+    @Test
+    void hirPageReferencedWithinTheStackIsPromoted() {
+        // 3 frames: 2 LIR pages and 1 resident HIR page. 1 and 2 become LIR, 3 HIR; 4 evicts 3, which
+        // stays in S as a ghost. 3 faults while in S: it becomes LIR (evicting the HIR page 4) and the
+        // bottom LIR page 1 is demoted to HIR, so the next new page evicts 1 rather than 3
+        long[] outcomes = TestTraces.replayPages(new LIRSAlgorithm(), 3, 1, 2, 3, 4, 3, 5, 3, 2);
+        assertArrayEquals(new long[] {F, F, F, 3, 4, 1, H, H}, outcomes);
+    }
+
+    @Test
+    void stackPruningForgetsGhostsBelowTheLastLirPage() {
+        // After 1 2 3 4 3: S = [3, 4, 2] with 4 a ghost and 2 the bottom LIR page, Q = [1].
+        // Hitting 2 moves it to the top and prunes S down to 3, dropping the ghost 4. 4 is therefore
+        // new when it returns and stays HIR (evicting 1); had it been remembered it would have been
+        // promoted, demoting 3, and the fault on 5 would evict 3 instead of 4
+        long[] outcomes = TestTraces.replayPages(new LIRSAlgorithm(), 3, 1, 2, 3, 4, 3, 2, 4, 5, 3);
+        assertArrayEquals(new long[] {F, F, F, 3, 4, H, 1, 4, H}, outcomes);
+    }
+}
@@ -0,0 +1,22 @@
+package ro.tuc.virtualmemorysimulator.BusinessLogic;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+class LinkedLRUAlgorithmTest {
+
+    private static final int LENGTH = 20_000;
+
+    @Test
+    void evictsTheSamePagesAsTheScanningLru() {
+        long[] addresses = TestTraces.addresses(LENGTH, 24, 200, 1);
+        boolean[] writes = TestTraces.writes(LENGTH, 30, 2);
+        for (int frames : new int[] {1, 8, 32, 100}) {
+            SimulationConfig config = SimulationConfig.defaultConfig().withNumFrames(frames);
+            long[] scanning = TestTraces.replay(new LRUAlgorithm(), config, addresses, writes);
+            long[] linked = TestTraces.replay(new LinkedLRUAlgorithm(), config, addresses, writes);
+            assertArrayEquals(scanning, linked, frames + " frames");
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package ro.tuc.virtualmemorysimulator.BusinessLogic;
+
+import org.junit.jupiter.api.Test;
+import ro.tuc.virtualmemorysimulator.Model.AccessType;
+import ro.tuc.virtualmemorysimulator.Model.ReplacementPolicy;
+import ro.tuc.virtualmemorysimulator.Model.TLB;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MemoryManagerTest {
+
+    @Test
+    void rejectsAddressesAbove32Bits() {
+        MemoryManager memoryManager = new MemoryManager(new LinkedLRUAlgorithm());
+        memoryManager.startStream();
+        memoryManager.access(0xFFFF_F000L, false);
+        assertThrows(IllegalArgumentException.class, () -> memoryManager.access(0x1_0000_1000L, false));
+        assertThrows(IllegalArgumentException.class,
+                () -> memoryManager.setAddressTrace(new long[] {0x1000L, 0x1_0000_1000L}));
+    }
+
+    @Test
+    void canonicalHalvesOf48BitAddressesAreDistinctPages() {
+        SimulationConfig config = SimulationConfig.radix(32, 16, SimulationConfig.PAGE_SIZE_4K,
+                SimulationConfig.ADDRESS_BITS_4_LEVEL);
+        MemoryManager memoryManager = new MemoryManager(new LinkedLRUAlgorithm(), config);
+        memoryManager.startStream();
+        memoryManager.access(0x0000_0000_0000_1000L, false);
+        memoryManager.access(0xFFFF_8000_0000_1000L, false);
+        memoryManager.access(0x0000_7FFF_FFFF_F000L, false);
+        assertEquals(3, memoryManager.getTotalFaults());
+        // Not sign-extended: would alias the lower half if the upper bits were dropped
+        assertThrows(IllegalArgumentException.class, () -> memoryManager.access(0x0000_8000_0000_1000L, false));
+        assertThrows(IllegalArgumentException.class, () -> memoryManager.access(0xFFFF_0000_0000_1000L, false));
+    }
+
+    @Test
+    void pageWalkCacheSkipsTheUpperLevelsItHolds() {
+        // A one-entry TLB, so every new page is walked
+        SimulationConfig config = SimulationConfig.radix(32, 1, SimulationConfig.PAGE_SIZE_4K,
+                SimulationConfig.ADDRESS_BITS_4_LEVEL).withPageWalkCache(4, ReplacementPolicy.LRU);
+        MemoryManager memoryManager = new MemoryManager(new LinkedLRUAlgorithm(), config);
+        memoryManager.startStream();
+
+        // Empty tables: the walk stops at the root, with nothing present to cache
+        memoryManager.access(0x1000L, false);
+        assertEquals(1, memoryManager.getLastWalkDepth());
+        assertEquals(0, memoryManager.getSkippedWalkLevels());
+        // Full walk through the tables the fault created; its three upper-level entries are cached
+        memoryManager.access(0x2000L, false);
+        assertEquals(4, memoryManager.getLastWalkDepth());
+        assertEquals(4, memoryManager.getLastWalkReferences());
+        assertEquals(0, memoryManager.getSkippedWalkLevels());
+        // Same leaf table: only the PTE is read
+        memoryManager.access(0x3000L, false);
+        assertEquals(4, memoryManager.getLastWalkDepth());
+        assertEquals(1, memoryManager.getLastWalkReferences());
+        assertEquals(3, memoryManager.getSkippedWalkLevels());
+        // Another 1 GB region: only the root entry is cached, and the next level is missing
+        memoryManager.access(0x4000_0000L, false);
+        assertEquals(2, memoryManager.getLastWalkDepth());
+        assertEquals(1, memoryManager.getLastWalkReferences());
+        assertEquals(4, memoryManager.getSkippedWalkLevels());
+        assertEquals(4, memoryManager.getPageWalks());
+    }
+
+    @Test
+    void stlbHitIsPromotedIntoL1() {
+        SimulationConfig config = SimulationConfig.defaultConfig()
+                .withTlb(1, 1, ReplacementPolicy.LRU)
+                .withStlb(4, 0, ReplacementPolicy.LRU);
+        MemoryManager memoryManager = new MemoryManager(new LinkedLRUAlgorithm(), config);
+        memoryManager.startStream();
+
+        memoryManager.access(0x1000L, false); // A: miss in both, walk, installed in both
+        memoryManager.access(0x2000L, false); // B: replaces A in L1
+        memoryManager.access(0x1000L, false); // A: L1 miss, STLB hit, promoted
+        assertEquals(2, memoryManager.getTlbHierarchy().getLastHitLevel());
+        memoryManager.access(0x1000L, false); // A: L1 hit
+        assertEquals(1, memoryManager.getTlbHierarchy().getLastHitLevel());
+
+        TLB l1 = memoryManager.getTlbHierarchy().getL1();
+        TLB stlb = memoryManager.getTlbHierarchy().getL2();
+        assertEquals(1, l1.getHits());
+        assertEquals(3, l1.getMisses());
+        assertEquals(1, l1.getPromotions());
+        assertEquals(1, stlb.getHits());
+        assertEquals(2, stlb.getMisses());
+        assertEquals(2, memoryManager.getTlbHits());
+        assertEquals(2, memoryManager.getPageWalks());
+        assertEquals(2, memoryManager.getTotalFaults());
+    }
+
+    @Test
+    void hugePageIsPromotedAtTheThresholdAndSplitOnEviction() {
+        // 16-page leaf tables (64 KB huge pages) and 20 frames; a region is promoted once half of it is resident
+        SimulationConfig config = new SimulationConfig(20, 16, SimulationConfig.PAGE_SIZE_4K, 16, 4).withHugePages(50);
+        MemoryManager memoryManager = new MemoryManager(new LinkedLRUAlgorithm(), config);
+        memoryManager.startStream();
+
+        for (long vpn = 0; vpn < 8; vpn++) {
+            memoryManager.access(vpn << 12, false);
+        }
+        // The eighth fault loads the other half of region 0 and maps it as one huge page
+        assertEquals(1, memoryManager.getHugePagePromotions());
+        assertEquals(8, memoryManager.getHugePagePrefetches());
+        assertEquals(16, memoryManager.getResidentPages());
+        // A prefetched page hits the huge TLB entry
+        memoryManager.access(12L << 12, false);
+        assertEquals(AccessType.TLB_HIT, memoryManager.getLastAccessType());
+        assertEquals(1, memoryManager.getTlb().getHugeHits());
+
+        // Region 1: four pages fill the free frames, the fifth evicts page 0 and splits region 0
+        for (long vpn = 16; vpn < 21; vpn++) {
+            memoryManager.access(vpn << 12, false);
+        }
+        assertEquals(0L, memoryManager.getLastVictimVpn());
+        assertEquals(1, memoryManager.getEvictions());
+        assertEquals(1, memoryManager.getHugePageSplits());
+        // The huge TLB entry is gone: a prefetched page is walked again, but is still mapped
+        memoryManager.access(13L << 12, false);
+        assertEquals(AccessType.PAGE_TABLE_HIT, memoryManager.getLastAccessType());
+        assertEquals(13, memoryManager.getTotalFaults());
+        assertEquals(1, memoryManager.getHugePagePromotions());
+    }
+
+    @Test
+    void workingSetKeepsThePagesOfTheLastTauAccesses() {
+        SimulationConfig config = SimulationConfig.defaultConfig().withNumFrames(10).withWorkingSet(3);
+        MemoryManager memoryManager = new MemoryManager(new LinkedLRUAlgorithm(), config);
+        memoryManager.startStream();
+
+        long[] pages = {1, 2, 3, 1, 4, 4, 4, 2};
+        // W(t, 3) after each access: {1} {1,2} {1,2,3} {2,3,1} {3,1,4} {1,4} {4} {4,2}
+        int[] resident = {1, 2, 3, 3, 3, 2, 1, 2};
+        for (int i = 0; i < pages.length; i++) {
+            memoryManager.access(pages[i] << 12, i == 2);
+            assertEquals(resident[i], memoryManager.getResidentPages(), "after access " + (i + 1));
+        }
+        assertEquals(5, memoryManager.getTotalFaults());
+        assertEquals(0, memoryManager.getEvictions());
+        // Pages 2, 3 and 1 aged out; 3 was written
+        assertEquals(3, memoryManager.getReleasedPages());
+        assertEquals(1, memoryManager.getDirtyWriteBacks());
+        assertEquals(3, memoryManager.getPeakResidentPages());
+        assertEquals(17.0 / 8, memoryManager.getAverageResidentPages(), 1e-9);
+    }
+
+    @Test
+    void pageFaultFrequencyReleasesPagesUnusedSinceThePreviousFault() {
+        SimulationConfig config = SimulationConfig.defaultConfig().withNumFrames(10).withPageFaultFrequency(2);
+        MemoryManager memoryManager = new MemoryManager(new LinkedLRUAlgorithm(), config);
+        memoryManager.startStream();
+
+        // Faults at accesses 1, 2, 3, 6, 7 and 11. At 6 the previous fault (3) is more than T back, so
+        // page 2 goes; 7 is within T and releases nothing; at 11 pages 3 and 4 go, page 5 was loaded by
+        // the previous fault and stays
+        long[] pages = {1, 2, 3, 1, 1, 4, 5, 1, 1, 1, 2};
+        int[] resident = {1, 2, 3, 3, 3, 3, 4, 4, 4, 4, 3};
+        for (int i = 0; i < pages.length; i++) {
+            memoryManager.access(pages[i] << 12, false);
+            assertEquals(resident[i], memoryManager.getResidentPages(), "after access " + (i + 1));
+        }
+        assertEquals(6, memoryManager.getTotalFaults());
+        assertEquals(0, memoryManager.getEvictions());
+        assertEquals(3, memoryManager.getReleasedPages());
+        assertEquals(4, memoryManager.getPeakResidentPages());
+        assertEquals(34.0 / 11, memoryManager.getAverageResidentPages(), 1e-9);
+    }
+
+    @Test
+    void globalReplacementCountsPagesStolenByTheOtherProcess() {
+        SimulationConfig config = SimulationConfig.defaultConfig().withNumFrames(4);
+        MemoryManager memoryManager = new MemoryManager(new LinkedLRUAlgorithm(), config);
+        memoryManager.startStream();
+
+        for (long vpn = 1; vpn <= 4; vpn++) {
+            memoryManager.access(0, vpn << 12, false);
+        }
+        // Process 1 takes the two least recently used frames, both process 0's
+        memoryManager.access(1, 1L << 12, false);
+        memoryManager.access(1, 2L << 12, false);
+        // Process 0 faults page 1 back in over its own page 3
+        memoryManager.access(0, 1L << 12, false);
+        assertEquals(3L, memoryManager.getLastVictimVpn());
+
+        List<ProcessStats> stats = memoryManager.getProcessStats();
+        assertEquals(3, stats.get(0).getEvictedPages());
+        assertEquals(2, stats.get(0).getStolenPages());
+        assertEquals(0, stats.get(1).getEvictedPages());
+        assertEquals(0, stats.get(1).getStolenPages());
+        assertEquals(2, memoryManager.getContextSwitches());
+    }
+
+    @Test
+    void localReplacementNeverEvictsTheOtherProcessesFrames() {
+        SimulationConfig config = SimulationConfig.defaultConfig().withNumFrames(9).withLocalReplacement(2);
+        MemoryManager memoryManager = new MemoryManager(LinkedLRUAlgorithm::new, config);
+        memoryManager.startStream();
+
+        long[] addresses = TestTraces.addresses(5000, 4, 40, 31);
+        for (int i = 0; i < addresses.length; i++) {
+            int pid = (i / 7) % 2;
+            memoryManager.clearLastEvictedFrame();
+            memoryManager.access(pid, addresses[i], false);
+            Long victim = memoryManager.getLastVictimVpn();
+            if (victim != null) {
+                assertEquals(pid, (int) (victim >>> MemoryManager.ASID_SHIFT), "victim of access " + i);
+            }
+        }
+        assertTrue(memoryManager.getEvictions() > 0);
+        for (ProcessStats process : memoryManager.getProcessStats()) {
+            assertEquals(0, process.getStolenPages());
+        }
+        // Frames split 5 + 4
+        assertEquals(5, memoryManager.getProcessStats().get(0).getPeakResidentPages());
+        assertEquals(4, memoryManager.getProcessStats().get(1).getPeakResidentPages());
+    }
+
+    @Test
+    void untaggedTlbIsFlushedOnEveryContextSwitch() {
+        long[] addresses = TestTraces.addresses(2000, 8, 40, 33);
+        for (boolean tagged : new boolean[] {true, false}) {
+            SimulationConfig config = SimulationConfig.defaultConfig().withAsids(tagged);
+            MemoryManager memoryManager = new MemoryManager(new LinkedLRUAlgorithm(), config);
+            memoryManager.startStream();
+
+            long flushable = 0;
+            for (int i = 0; i < addresses.length; i++) {
+                int pid = (i / 50) % 2;
+                if (i > 0 && i % 50 == 0) flushable += memoryManager.getTlbHierarchy().getValidEntries();
+                memoryManager.access(pid, addresses[i], false);
+            }
+            assertEquals(39, memoryManager.getContextSwitches());
+            if (tagged) {
+                assertEquals(0, memoryManager.getTlbFlushes());
+                assertEquals(0, memoryManager.getFlushedTlbEntries());
+            } else {
+                assertEquals(39, memoryManager.getTlbFlushes());
+                assertEquals(flushable, memoryManager.getFlushedTlbEntries());
+            }
+        }
+    }
+}
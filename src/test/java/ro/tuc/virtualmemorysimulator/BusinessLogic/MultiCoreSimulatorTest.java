@@ -0,0 +1,56 @@
+package ro.tuc.virtualmemorysimulator.BusinessLogic;
+
+import org.junit.jupiter.api.Test;
+import ro.tuc.virtualmemorysimulator.Model.AddressTrace;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MultiCoreSimulatorTest {
+
+    private static final int LENGTH = 40_000;
+
+    @Test
+    void oneCoreFaultsLikeTheSingleThreadedClock() {
+        long[] addresses = TestTraces.addresses(LENGTH, 24, 200, 41);
+        boolean[] writes = TestTraces.writes(LENGTH, 30, 42);
+        for (int frames : new int[] {2, 8, 32, 100}) {
+            SimulationConfig config = SimulationConfig.defaultConfig().withNumFrames(frames);
+            SimulationResult clock = new SimulationEngine(new ClockAlgorithm(), config).run(addresses, writes);
+            MultiCoreResult oneCore = new MultiCoreSimulator(config, 1).run(new AddressTrace(addresses, writes));
+
+            String label = frames + " frames";
+            assertEquals(clock.getFaults(), oneCore.getFaults(), label);
+            assertEquals(clock.getEvictions(), oneCore.getEvictions(), label);
+            assertEquals(clock.getDirtyWriteBacks(), oneCore.getDirtyWriteBacks(), label);
+            assertEquals(0, oneCore.getShootdowns(), label);
+        }
+    }
+
+    @Test
+    void everyEvictionIsShotDownOnTheOtherCores() {
+        long[] addresses = TestTraces.addresses(LENGTH, 24, 200, 43);
+        boolean[] writes = TestTraces.writes(LENGTH, 30, 44);
+        AddressTrace trace = new AddressTrace(addresses, writes);
+        for (int cores : new int[] {2, 4, 8}) {
+            SimulationConfig config = SimulationConfig.defaultConfig().withNumFrames(16);
+            // A lost acknowledgement would leave the evicting core spinning forever
+            MultiCoreResult result = assertTimeoutPreemptively(Duration.ofSeconds(60),
+                    () -> new MultiCoreSimulator(config, cores).run(trace));
+
+            String label = cores + " cores";
+            assertEquals(LENGTH, result.getRequests(), label);
+            assertTrue(result.getEvictions() > 0, label);
+            assertEquals(result.getEvictions(), result.getShootdowns(), label);
+            assertEquals(result.getShootdowns() * (cores - 1), result.getInterrupts(), label);
+            long invalidations = 0;
+            for (CoreStats core : result.getCoreStats()) {
+                invalidations += core.getInvalidations();
+            }
+            assertEquals(result.getInterrupts(), invalidations, label);
+        }
+    }
+}
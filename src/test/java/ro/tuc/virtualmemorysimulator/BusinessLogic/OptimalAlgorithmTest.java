@@ -0,0 +1,72 @@
+package ro.tuc.virtualmemorysimulator.BusinessLogic;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+class OptimalAlgorithmTest {
+
+    private static final int LENGTH = 4_000;
+
+    @Test
+    void evictsTheSamePagesAsBruteForceBelady() {
+        long[] addresses = TestTraces.addresses(LENGTH, 24, 200, 3);
+        boolean[] writes = TestTraces.writes(LENGTH, 30, 4);
+        for (int frames : new int[] {1, 8, 32, 100}) {
+            SimulationConfig config = SimulationConfig.defaultConfig().withNumFrames(frames);
+            long[] optimal = TestTraces.replay(new OptimalAlgorithm(), config, addresses, writes);
+            assertArrayEquals(belady(addresses, frames), optimal, frames + " frames");
+        }
+    }
+
+    // Scans ahead from every fault for the resident page used farthest in the future; pages never used
+    // again tie, and the lowest frame holding one is evicted
+    private static long[] belady(long[] addresses, int numFrames) {
+        long[] vpns = new long[addresses.length];
+        for (int i = 0; i < addresses.length; i++) {
+            vpns[i] = addresses[i] >>> 12;
+        }
+        long[] resident = new long[numFrames];
+        Arrays.fill(resident, -1);
+        long[] outcomes = new long[addresses.length];
+        for (int i = 0; i < vpns.length; i++) {
+            int frame = indexOf(resident, vpns[i]);
+            if (frame >= 0) {
+                outcomes[i] = TestTraces.HIT;
+                continue;
+            }
+            frame = indexOf(resident, -1);
+            if (frame >= 0) {
+                outcomes[i] = TestTraces.FAULT_INTO_FREE_FRAME;
+            } else {
+                int farthest = -1;
+                for (int f = 0; f < numFrames; f++) {
+                    int next = nextUse(vpns, resident[f], i + 1);
+                    if (next > farthest) {
+                        farthest = next;
+                        frame = f;
+                    }
+                }
+                outcomes[i] = resident[frame];
+            }
+            resident[frame] = vpns[i];
+        }
+        return outcomes;
+    }
+
+    private static int nextUse(long[] vpns, long vpn, int from) {
+        for (int i = from; i < vpns.length; i++) {
+            if (vpns[i] == vpn) return i;
+        }
+        return Integer.MAX_VALUE;
+    }
+
+    private static int indexOf(long[] values, long value) {
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] == value) return i;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,40 @@
+package ro.tuc.virtualmemorysimulator.BusinessLogic;
+
+import org.junit.jupiter.api.Test;
+import ro.tuc.virtualmemorysimulator.Model.AddressTrace;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class StackDistanceAnalyzerTest {
+
+    private static final int LENGTH = 20_000;
+    private static final int MAX_FRAMES = 80;
+
+    @Test
+    void curveMatchesAnLruRunAtEverySize() {
+        long[] addresses = TestTraces.addresses(LENGTH, 24, 200, 11);
+        boolean[] writes = TestTraces.writes(LENGTH, 30, 12);
+        assertCurveMatchesRuns(new AddressTrace(addresses, writes));
+    }
+
+    @Test
+    void processesWithTheSameAddressesDoNotSharePages() {
+        long[] addresses = TestTraces.addresses(LENGTH, 24, 200, 13);
+        boolean[] writes = TestTraces.writes(LENGTH, 30, 14);
+        int[] pids = new int[LENGTH];
+        for (int i = 0; i < LENGTH; i++) {
+            pids[i] = (i / 50) % 3;
+        }
+        assertCurveMatchesRuns(new AddressTrace(addresses, writes, pids));
+    }
+
+    private static void assertCurveMatchesRuns(AddressTrace trace) {
+        SimulationConfig config = SimulationConfig.defaultConfig();
+        StackDistanceProfile profile = StackDistanceAnalyzer.analyze(StackDistanceAnalyzer.pageKeys(trace, config));
+        for (int frames = 1; frames <= MAX_FRAMES; frames++) {
+            SimulationEngine engine = new SimulationEngine(LinkedLRUAlgorithm::new, config.withNumFrames(frames));
+            SimulationResult result = engine.run(trace.getAddresses(), trace.getWrites(), trace.getPids());
+            assertEquals(result.getFaults(), profile.getMisses(frames), frames + " frames");
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package ro.tuc.virtualmemorysimulator.BusinessLogic;
+
+import org.junit.jupiter.api.Test;
+import ro.tuc.virtualmemorysimulator.Model.AddressTrace;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SweepRunnerTest {
+
+    private static final int LENGTH = 20_000;
+    private static final List<String> ALGORITHMS = List.of("Optimal", "LRU", "ARC");
+    private static final int[] FRAMES = {8, 32};
+    private static final int[] TLB_SIZES = {16};
+
+    @Test
+    void sharedPageKeysGiveTheSameResultsAsSeparateRuns() {
+        long[] addresses = TestTraces.addresses(LENGTH, 24, 200, 19);
+        boolean[] writes = TestTraces.writes(LENGTH, 30, 20);
+        int[] pids = new int[LENGTH];
+        for (int i = 0; i < LENGTH; i++) {
+            pids[i] = (i / 100) % 2;
+        }
+        // Two page sizes, and a second base config with the first one's layout
+        List<SimulationConfig> baseConfigs = List.of(
+                SimulationConfig.defaultConfig(),
+                new SimulationConfig(SimulationConfig.DEFAULT_NUM_FRAMES, 16, 2 * SimulationConfig.PAGE_SIZE_4K),
+                SimulationConfig.defaultConfig().withWorkingSet(500));
+
+        SweepResult sweep = new SweepRunner(2).run(new AddressTrace(addresses, writes, pids), ALGORITHMS, FRAMES,
+                TLB_SIZES, baseConfigs);
+
+        // Results come back in algorithm x base config x frames x TLB size order
+        int next = 0;
+        for (String name : ALGORITHMS) {
+            for (SimulationConfig baseConfig : baseConfigs) {
+                for (int frames : FRAMES) {
+                    SimulationConfig config = baseConfig.withNumFrames(frames).withTlbEntries(TLB_SIZES[0]);
+                    SimulationResult alone = new SimulationEngine(() -> AlgorithmFactory.create(name), config)
+                            .run(addresses, writes, pids);
+                    SimulationResult swept = sweep.getResults().get(next++);
+                    String label = name + ", " + config.getPageSize() + " B pages, " + config.getResidentSetLabel()
+                            + ", " + frames + " frames";
+                    assertEquals(alone.getFaults(), swept.getFaults(), label);
+                    assertEquals(alone.getDirtyWriteBacks(), swept.getDirtyWriteBacks(), label);
+                    assertEquals(alone.getTlbHits(), swept.getTlbHits(), label);
+                }
+            }
+        }
+    }
+
+    @Test
+    void lookupTellsResidentSetModesApartAndRejectsAmbiguousMatches() {
+        long[] addresses = TestTraces.addresses(LENGTH, 24, 200, 25);
+        boolean[] writes = TestTraces.writes(LENGTH, 30, 26);
+        SimulationConfig fixed = SimulationConfig.defaultConfig();
+        SimulationConfig workingSet = fixed.withWorkingSet(500);
+        SimulationConfig pff = fixed.withPageFaultFrequency(50);
+        SweepResult sweep = new SweepRunner(2).run(new AddressTrace(addresses, writes), List.of("LRU"),
+                FRAMES, TLB_SIZES, List.of(fixed, workingSet, pff));
+
+        for (SimulationConfig baseConfig : List.of(fixed, workingSet, pff)) {
+            SimulationConfig config = baseConfig.withNumFrames(FRAMES[1]).withTlbEntries(TLB_SIZES[0]);
+            SimulationResult swept = sweep.get("lru", config);
+            assertEquals(config.getResidentSetLabel(), swept.getResidentSetMode());
+            SimulationResult alone = new SimulationEngine(new LinkedLRUAlgorithm(), config).run(addresses, writes);
+            assertEquals(alone.getFaults(), swept.getFaults(), config.getResidentSetLabel());
+        }
+        assertNull(sweep.get("LRU", fixed.withWorkingSet(1000).withNumFrames(FRAMES[1])
+                .withTlbEntries(TLB_SIZES[0])));
+        assertNull(sweep.get("FIFO", FRAMES[0], TLB_SIZES[0]));
+        // Three base configs ran LRU with these frames and TLB size
+        assertThrows(IllegalStateException.class, () -> sweep.get("LRU", FRAMES[0], TLB_SIZES[0]));
+    }
+
+    @Test
+    void runsUseTheDecodedKeysWithoutCopying() {
+        long[] addresses = TestTraces.addresses(LENGTH, 24, 200, 21);
+        boolean[] writes = TestTraces.writes(LENGTH, 30, 22);
+        SimulationConfig config = SimulationConfig.defaultConfig();
+        PageTrace pages = PageTrace.decode(addresses, null, config);
+
+        for (int frames : FRAMES) {
+            SimulationEngine engine = new SimulationEngine(new OptimalAlgorithm(), config.withNumFrames(frames));
+            engine.run(addresses, writes, null, pages);
+            assertSame(pages.getPageKeys(), engine.getMemoryManager().getVpnTrace());
+        }
+    }
+
+    @Test
+    void pageKeysOfAnotherLayoutAreRejected() {
+        long[] addresses = TestTraces.addresses(1000, 24, 200, 23);
+        PageTrace pages = PageTrace.decode(addresses, null, SimulationConfig.defaultConfig());
+        MemoryManager memoryManager = new MemoryManager(new LinkedLRUAlgorithm(),
+                new SimulationConfig(SimulationConfig.DEFAULT_NUM_FRAMES, 16, 2 * SimulationConfig.PAGE_SIZE_4K));
+
+        assertThrows(IllegalArgumentException.class, () -> memoryManager.setAddressTrace(addresses, null, pages));
+    }
+}
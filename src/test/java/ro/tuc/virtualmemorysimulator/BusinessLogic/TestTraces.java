@@ -0,0 +1,63 @@
+package ro.tuc.virtualmemorysimulator.BusinessLogic;
+
+import ro.tuc.virtualmemorysimulator.Model.AccessType;
+
+import java.util.Random;
+
+// Fixed synthetic traces and a replay that records what every access did, shared by the policy tests
+final class TestTraces {
+
+    static final long HIT = -2;
+    static final long FAULT_INTO_FREE_FRAME = -1;
+
+    private TestTraces() {
+    }
+
+    // 4 KB pages: 70% of the accesses go to a hot set of hotPages, the rest anywhere among pages
+    static long[] addresses(int length, int hotPages, int pages, long seed) {
+        Random random = new Random(seed);
+        long[] addresses = new long[length];
+        for (int i = 0; i < length; i++) {
+            long page = (random.nextInt(10) < 7) ? random.nextInt(hotPages) : random.nextInt(pages);
+            addresses[i] = (page << 12) | random.nextInt(4096);
+        }
+        return addresses;
+    }
+
+    static boolean[] writes(int length, int writePercent, long seed) {
+        Random random = new Random(seed);
+        boolean[] writes = new boolean[length];
+        for (int i = 0; i < length; i++) {
+            writes[i] = random.nextInt(100) < writePercent;
+        }
+        return writes;
+    }
+
+    // Per access: HIT, FAULT_INTO_FREE_FRAME, or the VPN of the page evicted by the fault
+    static long[] replay(Algorithm algorithm, SimulationConfig config, long[] addresses, boolean[] writes) {
+        MemoryManager memoryManager = new MemoryManager(algorithm, config);
+        memoryManager.setAddressTrace(addresses);
+        long[] outcomes = new long[addresses.length];
+        for (int i = 0; i < addresses.length; i++) {
+            memoryManager.clearLastEvictedFrame();
+            memoryManager.step(i, writes[i]);
+            if (memoryManager.getLastAccessType() != AccessType.PAGE_FAULT) {
+                outcomes[i] = HIT;
+            } else {
+                Long victim = memoryManager.getLastVictimVpn();
+                outcomes[i] = (victim == null) ? FAULT_INTO_FREE_FRAME : victim;
+            }
+        }
+        return outcomes;
+    }
+
+    // Hand-worked reference strings: one read of each listed 4 KB page, replayed on numFrames frames
+    static long[] replayPages(Algorithm algorithm, int numFrames, long... vpns) {
+        long[] addresses = new long[vpns.length];
+        for (int i = 0; i < vpns.length; i++) {
+            addresses[i] = vpns[i] << 12;
+        }
+        SimulationConfig config = SimulationConfig.defaultConfig().withNumFrames(numFrames);
+        return replay(algorithm, config, addresses, new boolean[vpns.length]);
+    }
+}
@@ -0,0 +1,29 @@
+package ro.tuc.virtualmemorysimulator.BusinessLogic;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+class TwoQAlgorithmTest {
+
+    private static final long H = TestTraces.HIT;
+    private static final long F = TestTraces.FAULT_INTO_FREE_FRAME;
+
+    @Test
+    void a1OutHitIsPromotedToAmAndSurvivesAScan() {
+        // 4 frames: A1in is held to 1 page, A1out remembers 2 VPNs.
+        // 5 evicts 1 from A1in into A1out; 1 faults again while remembered and goes to Am (evicting 2).
+        // The scan 6..9 then only cycles through A1in, so 1 is still resident at the end.
+        long[] outcomes = TestTraces.replayPages(new TwoQAlgorithm(), 4, 1, 2, 3, 4, 5, 1, 6, 7, 8, 9, 1);
+        assertArrayEquals(new long[] {F, F, F, F, 1, 2, 3, 4, 5, 6, H}, outcomes);
+    }
+
+    @Test
+    void pageDroppedFromA1OutStartsOverInA1In() {
+        // As above, but 2 (evicted by the promotion) falls out of A1out during the scan. When it returns it
+        // is new: it enters A1in and is evicted from there three faults later, while 1 stays in Am
+        long[] outcomes = TestTraces.replayPages(new TwoQAlgorithm(), 4,
+                1, 2, 3, 4, 5, 1, 6, 7, 8, 2, 9, 10, 11, 1);
+        assertArrayEquals(new long[] {F, F, F, F, 1, 2, 3, 4, 5, 6, 7, 8, 2, H}, outcomes);
+    }
+}